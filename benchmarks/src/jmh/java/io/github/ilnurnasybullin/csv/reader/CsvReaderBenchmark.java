@@ -0,0 +1,103 @@
+package io.github.ilnurnasybullin.csv.reader;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvReaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private final CsvReader csvReaderImpl = new CsvReaderImpl();
+    private final FastCsvReader fastCsvReader = new FastCsvReader();
+    private final CsvReader.Config config = new ManifestConfig();
+    private Path manifest;
+
+    @Setup(Level.Trial)
+    public void createManifest() throws IOException {
+        manifest = Files.createTempFile("csv-reader-benchmark", ".checksum");
+        Random random = new Random(rows);
+        byte[] checksum = new byte[32];
+        try(BufferedWriter writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            writer.write("file|checksum");
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                random.nextBytes(checksum);
+                writer.write(String.format("/data/archive/folder-%d/file-%d.bin|%s", i / 1000, i, HexFormat.of().formatHex(checksum)));
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteManifest() throws IOException {
+        Files.deleteIfExists(manifest);
+    }
+
+    @Benchmark
+    public void csvReaderImpl(Blackhole blackhole) throws IOException {
+        try(InputStream stream = Files.newInputStream(manifest);
+            Stream<CsvReader.Rows> csvRows = csvReaderImpl.readCsv(stream, config)) {
+            csvRows.forEach(row -> blackhole.consume(row.onColumn("file")));
+        }
+    }
+
+    @Benchmark
+    public void fastCsvReaderStream(Blackhole blackhole) throws IOException {
+        try(InputStream stream = Files.newInputStream(manifest);
+            Stream<CsvReader.Rows> csvRows = fastCsvReader.readCsv(stream, config)) {
+            csvRows.forEach(row -> blackhole.consume(row.onColumn("file")));
+        }
+    }
+
+    @Benchmark
+    public void fastCsvReaderMapped(Blackhole blackhole) throws IOException {
+        try(Stream<CsvReader.Rows> csvRows = fastCsvReader.readCsv(manifest, config)) {
+            csvRows.forEach(row -> blackhole.consume(row.onColumn("file")));
+        }
+    }
+
+    @Benchmark
+    public long fastCsvReaderMappedParallel() throws IOException {
+        try(Stream<CsvReader.Rows> csvRows = fastCsvReader.readCsv(manifest, config)) {
+            return csvRows.parallel()
+                    .filter(row -> row.onColumn("file").isPresent())
+                    .count();
+        }
+    }
+
+    private static class ManifestConfig implements CsvReader.Config {
+        @Override
+        public Charset charset() {
+            return StandardCharsets.UTF_8;
+        }
+
+        @Override
+        public String regexSplitter() {
+            return "\\|";
+        }
+
+        @Override
+        public boolean hasHeader() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.ilnurnasybullin.csv.writer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvWriterBenchmark {
+
+    private final static List<String> HEADERS = List.of("file", "checksum");
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private final CsvWriter csvWriterImpl = new CsvWriterImpl();
+    private final FastCsvWriter fastCsvWriter = new FastCsvWriter();
+    private List<Entry> entries;
+    private Path manifest;
+
+    @Setup(Level.Trial)
+    public void createEntries() throws IOException {
+        Random random = new Random(rows);
+        entries = IntStream.range(0, rows)
+                .mapToObj(i -> {
+                    byte[] checksum = new byte[32];
+                    random.nextBytes(checksum);
+                    return new Entry(Path.of("/data/archive", "folder-" + i / 1000, "file-" + i + ".bin"), checksum);
+                })
+                .toList();
+        manifest = Files.createTempFile("csv-writer-benchmark", ".checksum");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteManifest() throws IOException {
+        Files.deleteIfExists(manifest);
+    }
+
+    @Benchmark
+    public void csvWriterImpl() throws IOException {
+        try(OutputStream stream = Files.newOutputStream(manifest, StandardOpenOption.TRUNCATE_EXISTING)) {
+            csvWriterImpl.writeToCsv(stream, entries.stream(), new ManifestConfig());
+        }
+    }
+
+    @Benchmark
+    public void fastCsvWriter() throws IOException {
+        fastCsvWriter.writeToCsv(manifest, entries.stream(), new ManifestConfig(),
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private record Entry(Path file, byte[] checksum) {}
+
+    private static class ManifestConfig implements CsvWriter.Config<Entry> {
+        @Override
+        public Charset charset() {
+            return StandardCharsets.UTF_8;
+        }
+
+        @Override
+        public String splitter() {
+            return "|";
+        }
+
+        @Override
+        public List<String> headers() {
+            return HEADERS;
+        }
+
+        @Override
+        public BiFunction<Entry, String, String> toFieldFunction() {
+            return (entry, field) -> switch (field) {
+                case "file" -> entry.file().toString();
+                case "checksum" -> HexFormat.of().formatHex(entry.checksum());
+                default -> throw new IllegalArgumentException(String.format("Illegal field: %s", field));
+            };
+        }
+
+        @Override
+        public Optional<CsvWriter.FieldEncoder<Entry>> fieldEncoder(String field) {
+            return Optional.of(switch (field) {
+                case "file" -> (entry, out) -> out.append(entry.file());
+                case "checksum" -> (entry, out) -> {
+                    for (byte b: entry.checksum()) {
+                        out.append(HEX_DIGITS[(b >> 4) & 0xF]);
+                        out.append(HEX_DIGITS[b & 0xF]);
+                    }
+                };
+                default -> throw new IllegalArgumentException(String.format("Illegal field: %s", field));
+            });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import org.openjdk.jmh.annotations.*;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChecksumCommandBenchmark {
+
+    @Param({"TINY_FILES", "HUGE_FILES"})
+    private Layout layout;
+
+    @Param({"MD5", "SHA256"})
+    private String algorithm;
+
+    private Path root;
+
+    public enum Layout {
+        TINY_FILES(100, 200, 4 * 1024),
+        HUGE_FILES(1, 4, 256 * 1024 * 1024);
+
+        private final int folders;
+        private final int filesPerFolder;
+        private final int fileSize;
+
+        Layout(int folders, int filesPerFolder, int fileSize) {
+            this.folders = folders;
+            this.filesPerFolder = filesPerFolder;
+            this.fileSize = fileSize;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createTree() throws IOException {
+        root = Files.createTempDirectory("checksum-command-benchmark");
+        Random random = new Random(layout.ordinal());
+        byte[] block = new byte[Math.min(layout.fileSize, 1024 * 1024)];
+        for (int folder = 0; folder < layout.folders; folder++) {
+            Path folderPath = Files.createDirectories(root.resolve("folder-" + folder));
+            for (int file = 0; file < layout.filesPerFolder; file++) {
+                try(OutputStream stream = Files.newOutputStream(folderPath.resolve("file-" + file + ".bin"))) {
+                    for (int written = 0; written < layout.fileSize; written += block.length) {
+                        random.nextBytes(block);
+                        stream.write(block, 0, Math.min(block.length, layout.fileSize - written));
+                    }
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTree() throws IOException {
+        try(Stream<Path> paths = Files.walk(root)) {
+            for (Path path: paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int checksum() {
+        return new CommandLine(new ChecksumCommand())
+                .execute("-r", root.toString(), algorithm);
+    }
+}
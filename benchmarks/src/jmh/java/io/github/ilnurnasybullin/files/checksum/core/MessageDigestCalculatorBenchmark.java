@@ -0,0 +1,94 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageDigestCalculatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({"1024", "1048576", "67108864"})
+        private int fileSize;
+
+        @Param({"MD5", "SHA256"})
+        private ChecksumAlgorithm algorithm;
+
+        private final MessageDigestCalculator calculator = new MessageDigestCalculator();
+        private Path file;
+        private ChecksumSession session;
+        private byte[] checksum;
+
+        @Setup(Level.Trial)
+        public void createFile() throws IOException {
+            byte[] content = new byte[fileSize];
+            new Random(fileSize).nextBytes(content);
+            file = Files.createTempFile("message-digest-benchmark", ".bin");
+            Files.write(file, content);
+
+            session = calculator.session(algorithm);
+            checksum = new byte[session.length()];
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFile() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReadBufferState {
+
+        @Param({"1024", "65536", "1048576"})
+        private int bufferSize;
+
+        private byte[] buffer;
+
+        @Setup(Level.Trial)
+        public void createBuffer() {
+            buffer = new byte[bufferSize];
+        }
+    }
+
+    @Benchmark
+    public byte[] digestInputStream(FileState state, ReadBufferState readBuffer) throws IOException, NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance(state.algorithm.type());
+        try(InputStream stream = new DigestInputStream(Files.newInputStream(state.file), messageDigest)) {
+            while (stream.read(readBuffer.buffer) != -1) {}
+        }
+
+        return messageDigest.digest();
+    }
+
+    @Benchmark
+    public byte[] inputStream(FileState state) throws IOException {
+        try(InputStream stream = Files.newInputStream(state.file)) {
+            return state.calculator.calculate(stream, state.algorithm);
+        }
+    }
+
+    @Benchmark
+    public byte[] fileChannel(FileState state) {
+        return state.calculator.calculate(state.file, state.algorithm);
+    }
+
+    @Benchmark
+    public byte[] session(FileState state) {
+        state.session.calculate(state.file, state.checksum, 0);
+        return state.checksum;
+    }
+}
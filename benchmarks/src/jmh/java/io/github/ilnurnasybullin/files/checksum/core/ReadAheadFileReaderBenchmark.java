@@ -0,0 +1,92 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadAheadFileReaderBenchmark {
+
+    private final static int BASELINE_BUFFER_SIZE = 1024;
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({"1048576", "67108864"})
+        private int fileSize;
+
+        @Param({"MD5", "SHA256"})
+        private ChecksumAlgorithm algorithm;
+
+        private final MessageDigestCalculator calculator = new MessageDigestCalculator();
+        private Path file;
+        private ChecksumDigest digest;
+
+        @Setup(Level.Trial)
+        public void createFile() throws IOException {
+            byte[] content = new byte[fileSize];
+            new Random(fileSize).nextBytes(content);
+            file = Files.createTempFile("read-ahead-benchmark", ".bin");
+            Files.write(file, content);
+
+            digest = calculator.digest(algorithm);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFile() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReadAheadState {
+
+        @Param({"65536", "1048576"})
+        private int bufferSize;
+
+        @Param({"2", "4"})
+        private int depth;
+
+        private ChecksumFileReader reader;
+
+        @Setup(Level.Trial)
+        public void createReader() {
+            reader = ChecksumFileReader.readAhead(depth, bufferSize);
+        }
+    }
+
+    @Benchmark
+    public byte[] digestInputStream(FileState state) throws IOException, NoSuchAlgorithmException {
+        byte[] buffer = new byte[BASELINE_BUFFER_SIZE];
+        MessageDigest messageDigest = MessageDigest.getInstance(state.algorithm.type());
+        try(InputStream stream = new DigestInputStream(Files.newInputStream(state.file), messageDigest)) {
+            while (stream.read(buffer) != -1) {}
+        }
+
+        return messageDigest.digest();
+    }
+
+    @Benchmark
+    public byte[] fileChannel(FileState state) throws IOException {
+        ChecksumFileReader.channel().read(state.file, state.digest::update);
+        return state.digest.digest();
+    }
+
+    @Benchmark
+    public byte[] readAhead(FileState state, ReadAheadState readAhead) throws IOException {
+        readAhead.reader.read(state.file, state.digest::update);
+        return state.digest.digest();
+    }
+}
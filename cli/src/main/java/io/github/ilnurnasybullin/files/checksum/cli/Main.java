@@ -1,15 +1,22 @@
 package io.github.ilnurnasybullin.files.checksum.cli;
 
 import io.github.ilnurnasybullin.files.checksum.cli.subcommands.ChecksumCommand;
+import io.github.ilnurnasybullin.files.checksum.cli.subcommands.ConvertCommand;
+import io.github.ilnurnasybullin.files.checksum.cli.subcommands.DuplicatesCommand;
+import io.github.ilnurnasybullin.files.checksum.cli.subcommands.VerifyCommand;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 
 @Command(subcommands = {
-    ChecksumCommand.class
+    ChecksumCommand.class,
+    VerifyCommand.class,
+    ConvertCommand.class,
+    DuplicatesCommand.class
 })
 public class Main {
     public static void main(String[] args) {
-        new CommandLine(new Main())
+        int exitCode = new CommandLine(new Main())
                 .execute(args);
+        System.exit(exitCode);
     }
 }
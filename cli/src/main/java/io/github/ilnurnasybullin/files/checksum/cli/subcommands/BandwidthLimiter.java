@@ -0,0 +1,51 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumFileReader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+class BandwidthLimiter {
+
+    private final double nanosPerByte;
+    private long nextFree = System.nanoTime();
+
+    BandwidthLimiter(long bytesPerSecond) {
+        if (bytesPerSecond < 1) {
+            throw new IllegalArgumentException(String.format("Bandwidth %d must be positive!", bytesPerSecond));
+        }
+
+        this.nanosPerByte = (double) TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+    }
+
+    ChecksumFileReader throttle(ChecksumFileReader reader) {
+        return (file, consumer) -> reader.read(file, buffer -> {
+            acquire(buffer.remaining());
+            consumer.accept(buffer);
+        });
+    }
+
+    void acquire(long bytes) {
+        await(reserve(bytes, false));
+    }
+
+    void consumed(long bytes) {
+        await(reserve(bytes, true));
+    }
+
+    private void await(long deadline) {
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private synchronized long reserve(long bytes, boolean untilEnd) {
+        long free = Math.max(nextFree, System.nanoTime());
+        nextFree = free + (long) (bytes * nanosPerByte);
+        return untilEnd ? nextFree : free;
+    }
+}
@@ -0,0 +1,379 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class BinaryManifest implements Closeable {
+
+    private final static int MAGIC = 0x4643534D;
+    private final static byte VERSION = 1;
+
+    private final static int METADATA_FLAG = 1;
+    private final static int CHUNK_FLAG = 1 << 1;
+
+    private final static int RESTART_INTERVAL = 16;
+    private final static int FOOTER_SIZE = 4 * Integer.BYTES;
+    private final static int MAX_HEADER_SIZE = Integer.BYTES + 3 + 255 + Long.BYTES;
+
+    private final FileChannel channel;
+    private final ChecksumAlgorithm algorithm;
+    private final boolean hasMetadata;
+    private final long chunkSize;
+    private final int indexOffset;
+    private final int[] restartOffsets;
+    private final int size;
+
+    private BinaryManifest(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        long fileSize = channel.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Binary manifest is too large!");
+        }
+
+        if (fileSize < FOOTER_SIZE) {
+            throw new IllegalArgumentException("Binary manifest has illegal format!");
+        }
+
+        ByteBuffer footer = read((int) fileSize - FOOTER_SIZE, FOOTER_SIZE);
+        ByteBuffer header = read(0, (int) Math.min(MAX_HEADER_SIZE, fileSize));
+        if (header.getInt(0) != MAGIC || footer.getInt(FOOTER_SIZE - Integer.BYTES) != MAGIC) {
+            throw new IllegalArgumentException("Binary manifest has illegal format!");
+        }
+
+        int position = Integer.BYTES;
+        byte version = header.get(position++);
+        if (version != VERSION) {
+            throw new IllegalArgumentException(String.format("Binary manifest version %d is not supported!", version));
+        }
+
+        int flags = header.get(position++);
+        int typeLength = header.get(position++);
+        byte[] type = new byte[typeLength];
+        header.get(position, type);
+        position += typeLength;
+
+        String algorithmType = new String(type, StandardCharsets.US_ASCII);
+        this.algorithm = Arrays.stream(ChecksumAlgorithm.values())
+                .filter(alg -> alg.type().equals(algorithmType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        String.format("Binary manifest algorithm %s is not supported!", algorithmType)
+                ));
+
+        this.hasMetadata = (flags & METADATA_FLAG) != 0;
+        this.chunkSize = (flags & CHUNK_FLAG) != 0 ? header.getLong(position) : 0;
+
+        this.indexOffset = footer.getInt(0);
+        int restarts = footer.getInt(Integer.BYTES);
+        this.size = footer.getInt(2 * Integer.BYTES);
+        if (size < 0 || restarts != (size + RESTART_INTERVAL - 1) / RESTART_INTERVAL
+                || (long) indexOffset + (long) restarts * Integer.BYTES != fileSize - FOOTER_SIZE) {
+            throw new IllegalArgumentException("Binary manifest has illegal format!");
+        }
+
+        this.restartOffsets = new int[restarts];
+        read(indexOffset, restarts * Integer.BYTES).asIntBuffer().get(restartOffsets);
+    }
+
+    static BinaryManifest open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new BinaryManifest(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static void write(Path file, ChecksumAlgorithm algorithm, long chunkSize, Collection<Checksum> checksums) throws IOException {
+        List<Entry> entries = new ArrayList<>(checksums.size());
+        boolean hasMetadata = !checksums.isEmpty();
+        for (Checksum checksum: checksums) {
+            entries.add(new Entry(checksum.file().toString().getBytes(StandardCharsets.UTF_8), checksum));
+            hasMetadata &= checksum.metadata() != null;
+        }
+        entries.sort((first, second) -> Arrays.compareUnsigned(first.key(), second.key()));
+
+        Path temp = ChecksumFiles.tempFile(file);
+        try {
+            try(CountingOutputStream counter = new CountingOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024));
+                DataOutputStream out = new DataOutputStream(counter)) {
+                writeHeader(out, algorithm, hasMetadata, chunkSize);
+
+                int[] restartOffsets = new int[(entries.size() + RESTART_INTERVAL - 1) / RESTART_INTERVAL];
+                byte[] previous = new byte[0];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    int shared = 0;
+                    if (i % RESTART_INTERVAL == 0) {
+                        restartOffsets[i / RESTART_INTERVAL] = counter.offset();
+                    } else {
+                        shared = Arrays.mismatch(previous, entry.key());
+                        shared = shared == -1 ? previous.length : shared;
+                    }
+
+                    writeEntry(out, entry, shared, hasMetadata);
+                    previous = entry.key();
+                }
+
+                int indexOffset = counter.offset();
+                for (int restartOffset: restartOffsets) {
+                    out.writeInt(restartOffset);
+                }
+
+                out.writeInt(indexOffset);
+                out.writeInt(restartOffsets.length);
+                out.writeInt(entries.size());
+                out.writeInt(MAGIC);
+            }
+
+            ChecksumFiles.replaceDurably(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    ChecksumAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    long chunkSize() {
+        return chunkSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Stream<Checksum> checksums() {
+        Iterator<Checksum> iterator = new Iterator<>() {
+
+            private int read = 0;
+            private EntryReader reader;
+
+            @Override
+            public boolean hasNext() {
+                return read < size;
+            }
+
+            @Override
+            public Checksum next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                if (read % RESTART_INTERVAL == 0) {
+                    reader = new EntryReader(block(read / RESTART_INTERVAL));
+                }
+
+                read++;
+                reader.next();
+                return reader.checksum();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliterator(iterator, size,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer block(int restart) {
+        int start = restartOffsets[restart];
+        int end = restart + 1 < restartOffsets.length ? restartOffsets[restart + 1] : indexOffset;
+        try {
+            return read(start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer read(int position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new IllegalArgumentException("Binary manifest has illegal format!");
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private static int readVarInt(ByteBuffer buffer, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position[0]++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer buffer, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position[0]++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+
+    private static void writeHeader(DataOutputStream out, ChecksumAlgorithm algorithm, boolean hasMetadata,
+                                    long chunkSize) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+
+        int flags = 0;
+        if (hasMetadata) {
+            flags |= METADATA_FLAG;
+        }
+        if (chunkSize > 0) {
+            flags |= CHUNK_FLAG;
+        }
+        out.writeByte(flags);
+
+        byte[] type = algorithm.type().getBytes(StandardCharsets.US_ASCII);
+        out.writeByte(type.length);
+        out.write(type);
+        if (chunkSize > 0) {
+            out.writeLong(chunkSize);
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry, int shared, boolean hasMetadata) throws IOException {
+        byte[] key = entry.key();
+        writeVarLong(out, shared);
+        writeVarLong(out, key.length - shared);
+        out.write(key, shared, key.length - shared);
+        out.write(entry.checksum().checksum());
+
+        if (hasMetadata) {
+            FileMetadata metadata = entry.checksum().metadata();
+            byte[] fileKey = metadata.key().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, metadata.size());
+            out.writeLong(metadata.modified());
+            writeVarLong(out, fileKey.length);
+            out.write(fileKey);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private record Entry(byte[] key, Checksum checksum) {}
+
+    private class EntryReader {
+
+        private final ByteBuffer buffer;
+        private final int[] position = {0};
+        private byte[] key = new byte[256];
+        private int keyLength;
+        private int checksumOffset;
+
+        private EntryReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void next() {
+            int shared = readVarInt(buffer, position);
+            int unshared = readVarInt(buffer, position);
+            keyLength = shared + unshared;
+            if (key.length < keyLength) {
+                key = Arrays.copyOf(key, Math.max(keyLength, key.length * 2));
+            }
+
+            buffer.get(position[0], key, shared, unshared);
+            position[0] += unshared;
+
+            checksumOffset = position[0];
+            position[0] += algorithm.length();
+
+            if (hasMetadata) {
+                readVarLong(buffer, position);
+                position[0] += Long.BYTES;
+                int fileKeyLength = readVarInt(buffer, position);
+                position[0] += fileKeyLength;
+            }
+        }
+
+        private Checksum checksum() {
+            Path file = Path.of(new String(key, 0, keyLength, StandardCharsets.UTF_8));
+            byte[] checksum = new byte[algorithm.length()];
+            buffer.get(checksumOffset, checksum);
+
+            FileMetadata metadata = null;
+            if (hasMetadata) {
+                int[] metadataPosition = {checksumOffset + checksum.length};
+                long fileSize = readVarLong(buffer, metadataPosition);
+                long modified = buffer.getLong(metadataPosition[0]);
+                metadataPosition[0] += Long.BYTES;
+                int fileKeyLength = readVarInt(buffer, metadataPosition);
+                byte[] fileKey = new byte[fileKeyLength];
+                buffer.get(metadataPosition[0], fileKey);
+                metadata = new FileMetadata(fileSize, modified, new String(fileKey, StandardCharsets.UTF_8));
+            }
+
+            return new Checksum(file, checksum, algorithm, metadata);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long offset;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            offset++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            offset += len;
+        }
+
+        private int offset() {
+            if (offset > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Binary manifest is too large!");
+            }
+
+            return (int) offset;
+        }
+    }
+}
@@ -4,4 +4,13 @@ import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
 
 import java.nio.file.Path;
 
-record Checksum(Path file, byte[] checksum, ChecksumAlgorithm algorithm) {}
+record Checksum(Path file, byte[] checksum, ChecksumAlgorithm algorithm, FileMetadata metadata) {
+
+    Checksum(Path file, byte[] checksum, ChecksumAlgorithm algorithm) {
+        this(file, checksum, algorithm, null);
+    }
+
+    Checksum withMetadata(FileMetadata metadata) {
+        return new Checksum(file, checksum, algorithm, metadata);
+    }
+}
@@ -5,261 +5,996 @@ import io.github.ilnurnasybullin.csv.writer.CsvWriter;
 import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
 import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithmProvider;
 import io.github.ilnurnasybullin.files.checksum.core.ChecksumCalculator;
-import io.github.ilnurnasybullin.files.checksum.core.CoreChecksumAlgorithmProvider;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumFileReader;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumListener;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumPhase;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumStatistics;
+import io.github.ilnurnasybullin.files.checksum.core.JfrChecksumListener;
+import io.github.ilnurnasybullin.files.checksum.core.MultiChecksumCalculator;
+import io.github.ilnurnasybullin.files.checksum.core.TreeChecksumCalculator;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.OpenOption;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
-import java.util.function.Predicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.github.ilnurnasybullin.files.checksum.cli.subcommands.ChecksumFiles.*;
+
 @Command(name = "checksum")
 public class ChecksumCommand implements Runnable {
 
-    private final static String CHECKSUM_EXTENSION = ".checksum";
-
-    private final static String FILE_HEADER = "file";
-    private final static String CHECKSUM_HEADER = "checksum";
-
-    private final Predicate<Path> filesPredicate = file -> !Files.isDirectory(file) &&
-            !file.toString().endsWith(CHECKSUM_EXTENSION);
+    private final static int IN_FLIGHT_FILES_PER_THREAD = 4;
+    private final static int COMPLETED_FOLDERS_CAPACITY = 16;
 
     private final ChecksumAlgorithmProvider algorithmProvider;
     private final CsvReader csvReader;
+    private final CsvWriter csvWriter;
 
     @Option(names = {"-a", "--append"})
     private boolean append = false;
 
+    @Option(names = {"-i", "--incremental"})
+    private boolean incremental = false;
+
     @Option(names = {"-r", "--recursive"})
     private boolean recursive = false;
 
-    @Parameters(index = "0")
+    @Option(names = {"-t", "--threads", "--parallelism"})
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"--tree"})
+    private boolean tree = false;
+
+    @Option(names = {"--chunk-size"})
+    private long chunkSize = 64L * 1024 * 1024;
+
+    @Option(names = {"--quick"})
+    private boolean quick = false;
+
+    @Option(names = {"--quick-gate"})
+    private boolean quickGate = false;
+
+    @Option(names = {"--read-ahead"})
+    private int readAhead = 0;
+
+    @Option(names = {"--buffer-size"})
+    private int bufferSize = 1024 * 1024;
+
+    @Option(names = {"--device-threads"})
+    private int deviceThreads = 0;
+
+    @Option(names = {"--adaptive-io"})
+    private boolean adaptiveIo = false;
+
+    @Option(names = {"--max-bandwidth"})
+    private long maxBandwidth = 0;
+
+    @Option(names = {"--journal"})
+    private Path journalFile;
+
+    @Option(names = {"--journal-sync-interval"})
+    private long journalSyncInterval = 1000;
+
+    @Option(names = {"--order"})
+    private FileOrder order = FileOrder.INODE;
+
+    @Option(names = {"--format"})
+    private ManifestFormat format = ManifestFormat.CSV;
+
+    @Option(names = {"-w", "--watch"})
+    private boolean watch = false;
+
+    @Option(names = {"--debounce"})
+    private long debounceMillis = 1000;
+
+    @Option(names = {"--stats"})
+    private boolean stats = false;
+
+    @Option(names = {"--stats-interval"})
+    private long statsInterval = 0;
+
+    @Option(names = {"--files-from"})
+    private String filesFrom;
+
+    @Option(names = {"-0", "--null"})
+    private boolean nullSeparated = false;
+
+    @Parameters(arity = "1..*")
+    private List<String> parameters;
+
     private Path file;
+    private BasicFileAttributes fileAttributes;
 
-    @Parameters(index = "1")
-    private ChecksumAlgorithm algorithm;
+    private BiFunction<Path, Set<ChecksumAlgorithm>, Map<ChecksumAlgorithm, byte[]>> quickCalculator;
+    private ChecksumJournal journal;
+    private final AtomicLong failedFiles = new AtomicLong();
+    private BandwidthLimiter bandwidth;
+
+    private List<ChecksumAlgorithm> algorithms;
 
     public ChecksumCommand() {
-        this(new CoreChecksumAlgorithmProvider(), CsvReader.getInstance());
+        this(ChecksumAlgorithmProvider.getInstance(), CsvReader.getInstance());
     }
 
     public ChecksumCommand(ChecksumAlgorithmProvider algorithmProvider, CsvReader csvReader) {
+        this(algorithmProvider, csvReader, CsvWriter.getInstance());
+    }
+
+    public ChecksumCommand(ChecksumAlgorithmProvider algorithmProvider, CsvReader csvReader, CsvWriter csvWriter) {
         this.algorithmProvider = algorithmProvider;
         this.csvReader = csvReader;
+        this.csvWriter = csvWriter;
     }
 
     @Override
     public void run() {
         validateParameters();
-        List<Path> filesToChecksum = filesToChecksum(file, recursive);
-        List<Checksum> checksums = calculateChecksums(filesToChecksum, algorithm, append);
-        writeChecksumsToFiles(checksums, append);
+        if (watch) {
+            incremental = true;
+        }
+
+        Map<ChecksumAlgorithm, ChecksumCalculator> calculators = new EnumMap<>(ChecksumAlgorithm.class);
+        for (ChecksumAlgorithm algorithm: algorithms) {
+            calculators.put(algorithm, algorithmProvider.getByChecksumAlgorithm(algorithm).get().get());
+        }
+
+        ChecksumStatistics statistics = new ChecksumStatistics();
+        ChecksumListener listener = ChecksumListener.composite(statistics, new JfrChecksumListener());
+        ScheduledExecutorService statsReporter = statsReporter(statistics);
+
+        if (maxBandwidth > 0) {
+            bandwidth = new BandwidthLimiter(maxBandwidth);
+        }
+
+        ForkJoinPool treePool = tree ? new ForkJoinPool(threads) : null;
+        BiFunction<Path, Set<ChecksumAlgorithm>, Map<ChecksumAlgorithm, byte[]>> calculator = tree ?
+                new TreeChecksumCalculator(calculators, chunkSize, treePool, listener)::calculate :
+                new MultiChecksumCalculator(calculators, listener, throttle(quick ? quickFileReader() : fileReader()))::calculate;
+        if (quickGate) {
+            quickCalculator = new MultiChecksumCalculator(calculators, ChecksumListener.NONE, throttle(quickFileReader()))::calculate;
+        }
+        try {
+            journal = openJournal();
+            if (filesFrom != null) {
+                new Pipeline(calculator, new LinkedHashSet<>(algorithms), listener).run(filesByFolder());
+            } else if (watch) {
+                watch(calculator, listener);
+            } else if (fileAttributes.isDirectory()) {
+                new Pipeline(calculator, new LinkedHashSet<>(algorithms), listener).run(List.of(file), recursive);
+            } else {
+                new Pipeline(calculator, new LinkedHashSet<>(algorithms), listener).run(file, fileAttributes);
+            }
+            deleteJournal();
+            if (failedFiles.get() > 0) {
+                throw new RuntimeException(String.format("%d files failed!", failedFiles.get()));
+            }
+        } finally {
+            closeJournal();
+            if (treePool != null) {
+                treePool.shutdownNow();
+            }
+
+            if (statsReporter != null) {
+                statsReporter.shutdownNow();
+                printStats(statistics);
+            }
+        }
     }
 
-    private void writeChecksumsToFiles(List<Checksum> checksums, boolean append) {
-        Map<ChecksumAlgorithm, List<Checksum>> groupedByAlgorithms = checksums.stream()
-                .collect(Collectors.groupingBy(Checksum::algorithm));
+    private Map<Path, List<Path>> filesByFolder() {
+        char separator = nullSeparated ? '\0' : '\n';
+        Map<Path, List<Path>> filesByFolder = new LinkedHashMap<>();
+        try(Reader reader = new BufferedReader(new InputStreamReader(filesFromStream(), StandardCharsets.UTF_8))) {
+            StringBuilder name = new StringBuilder();
+            int c;
+            do {
+                c = reader.read();
+                if (c != -1 && c != separator) {
+                    name.append((char) c);
+                    continue;
+                }
+
+                if (!nullSeparated && !name.isEmpty() && name.charAt(name.length() - 1) == '\r') {
+                    name.setLength(name.length() - 1);
+                }
 
-        groupedByAlgorithms.forEach((algorithm, mapChecksums) -> {
-            writeChecksumsToFiles(algorithm, mapChecksums, append);
-        });
+                if (!name.isEmpty()) {
+                    Path file = Path.of(name.toString()).normalize();
+                    Path folder = toFolder(file);
+                    filesByFolder.computeIfAbsent((folder == null ? Path.of("") : folder).toAbsolutePath(),
+                                    dir -> new ArrayList<>())
+                            .add(file);
+                    name.setLength(0);
+                }
+            } while (c != -1);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return filesByFolder;
     }
 
-    private void writeChecksumsToFiles(ChecksumAlgorithm algorithm, List<Checksum> checksums, boolean append) {
-        Map<Path, List<Checksum>> folderChecksums = checksums.stream()
-                .collect(Collectors.groupingBy(checksum -> toFolder(checksum.file())));
+    private InputStream filesFromStream() throws IOException {
+        if (filesFrom.equals("-")) {
+            return new FilterInputStream(System.in) {
+                @Override
+                public void close() {}
+            };
+        }
 
-        folderChecksums.forEach((folder, mapChecksums) -> {
-            writeChecksumsToFiles(algorithm, folder, mapChecksums, append);
-        });
+        return Files.newInputStream(Path.of(filesFrom));
     }
 
-    private void writeChecksumsToFiles(ChecksumAlgorithm algorithm, Path folder, List<Checksum> checksums, boolean append) {
-        Path path = checksumFileName(folder, algorithm);
+    private ChecksumJournal openJournal() {
+        if (journalFile == null) {
+            return null;
+        }
 
-        CsvWriter writer = CsvWriter.getInstance();
-        try(OutputStream stream = Files.newOutputStream(path, writeOptions(append))) {
-            writer.writeToCsv(stream, checksums.stream(), new CsvWriterConfig());
+        try {
+            return ChecksumJournal.open(journalFile, tree ? chunkSize : 0, journalSyncInterval);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private OpenOption[] writeOptions(boolean append) {
-        if (append) {
-            return new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND};
+    private void deleteJournal() {
+        if (journal == null) {
+            return;
         }
 
-        return new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING};
+        try {
+            journal.delete();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private List<Checksum> calculateChecksums(List<Path> files, ChecksumAlgorithm algorithm, boolean append) {
-        Map<Path, Set<Path>> checksumCalculatedFiles = new HashMap<>();
-        ChecksumCalculator calculator = algorithmProvider.getByChecksumAlgorithm(algorithm)
-                .get()
-                .get();
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
 
-        List<Checksum> checksums = new ArrayList<>();
-        for (Path file: files) {
-            Path folder = toFolder(file);
-            checksumCalculatedFiles.computeIfAbsent(folder, fd -> getCalculatedChecksumsForFolder(fd, algorithm, append));
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            if (checksumCalculatedFiles.get(folder).contains(file)) {
-                continue;
-            }
+    private boolean isJournalFile(Path file) {
+        return journalFile != null && file.getFileName().equals(journalFile.getFileName())
+                && file.toAbsolutePath().normalize().equals(journalFile.toAbsolutePath().normalize());
+    }
 
-            byte[] checksumBytes;
-            try(InputStream stream = Files.newInputStream(file, StandardOpenOption.READ)) {
-                checksumBytes = calculator.calculate(stream, algorithm);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    private boolean isHashable(Path file) {
+        if (isTempChecksumFile(file)) {
+            deleteStaleTempFile(file);
+            return false;
+        }
+
+        return !isChecksumFile(file) && !isJournalFile(file);
+    }
+
+    private void deleteStaleTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Checksum journaledChecksum(ManifestKind kind, ChecksumAlgorithm algorithm, Path file, FileMetadata metadata) {
+        if (journal == null) {
+            return null;
+        }
+
+        Checksum checksum = journal.checksum(kind, algorithm, file);
+        if (checksum == null || !checksum.metadata().equals(metadata)) {
+            return null;
+        }
+
+        return incremental ? checksum : checksum.withMetadata(null);
+    }
+
+    private void journal(ManifestKind kind, List<Checksum> checksums, FileMetadata metadata) {
+        if (journal == null) {
+            return;
+        }
+
+        journal.append(kind, checksums.stream()
+                .map(checksum -> checksum.withMetadata(metadata))
+                .toList());
+    }
+
+    private ChecksumFileReader throttle(ChecksumFileReader reader) {
+        return bandwidth == null ? reader : bandwidth.throttle(reader);
+    }
+
+    private ChecksumFileReader fileReader() {
+        return readAhead > 0 ? ChecksumFileReader.readAhead(readAhead, bufferSize) : ChecksumFileReader.channel();
+    }
+
+    private void watch(BiFunction<Path, Set<ChecksumAlgorithm>, Map<ChecksumAlgorithm, byte[]>> calculator,
+                       ChecksumListener listener) {
+        try(FolderWatcher watcher = new FolderWatcher(file, recursive, debounceMillis)) {
+            new Pipeline(calculator, new LinkedHashSet<>(algorithms), listener).run(List.of(file), recursive);
+            while (!Thread.currentThread().isInterrupted()) {
+                FolderWatcher.Changes changes = watcher.await();
+                try {
+                    new Pipeline(calculator, new LinkedHashSet<>(algorithms), listener).run(changes.createdFolders(), true);
+                    new Pipeline(calculator, new LinkedHashSet<>(algorithms), listener).run(changes.changedFolders(), false);
+                } catch (RuntimeException e) {
+                    if (e.getCause() instanceof Error error) {
+                        throw error;
+                    }
+
+                    e.printStackTrace();
+                }
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            Checksum checksum = new Checksum(file, checksumBytes, algorithm);
-            checksums.add(checksum);
+    private ScheduledExecutorService statsReporter(ChecksumStatistics statistics) {
+        if (!stats) {
+            return null;
         }
 
-        return checksums;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checksum-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (statsInterval > 0) {
+            reporter.scheduleAtFixedRate(() -> printStats(statistics), statsInterval, statsInterval, TimeUnit.SECONDS);
+        }
+
+        return reporter;
     }
 
-    private Set<Path> getCalculatedChecksumsForFolder(Path folder, ChecksumAlgorithm algorithm, boolean append) {
-        if (!append) {
-            return Set.of();
+    private void printStats(ChecksumStatistics statistics) {
+        ChecksumStatistics.Snapshot snapshot = statistics.snapshot();
+        PrintStream out = System.err;
+        synchronized (out) {
+            out.println(statsInterval > 0 ? snapshot.toJson() : snapshot.toSummary());
         }
+    }
 
-        Path checksumFile = checksumFileName(folder, algorithm);
-        if (!Files.exists(checksumFile)) {
-            return Set.of();
+    private long writeChecksumsToFiles(FolderChecksums folderChecksums) {
+        long entries = writeChecksumsToFiles(folderChecksums.folder(), manifestKind(), folderChecksums.checksums(),
+                folderChecksums::calculatedChecksums);
+        if (quickGate) {
+            entries += writeChecksumsToFiles(folderChecksums.folder(), ManifestKind.QUICK, folderChecksums.quickChecksums(),
+                    folderChecksums::calculatedQuickChecksums);
+        }
+
+        return entries;
+    }
+
+    private long writeChecksumsToFiles(Path folder, ManifestKind kind, List<Checksum> folderChecksums,
+                                       Function<ChecksumAlgorithm, Map<Path, Checksum>> calculatedChecksums) {
+        Map<ChecksumAlgorithm, List<Checksum>> groupedByAlgorithms = folderChecksums.stream()
+                .collect(Collectors.groupingBy(Checksum::algorithm, () -> new EnumMap<>(ChecksumAlgorithm.class), Collectors.toList()));
+
+        if (incremental) {
+            for (ChecksumAlgorithm algorithm: algorithms) {
+                if (!groupedByAlgorithms.containsKey(algorithm) && !calculatedChecksums.apply(algorithm).isEmpty()) {
+                    groupedByAlgorithms.put(algorithm, List.of());
+                }
+            }
+        }
+
+        long entries = 0;
+        for (Map.Entry<ChecksumAlgorithm, List<Checksum>> entry: groupedByAlgorithms.entrySet()) {
+            ChecksumAlgorithm algorithm = entry.getKey();
+            List<Checksum> checksums = entry.getValue();
+            if (incremental) {
+                checksums = withRemainingChecksums(checksums, calculatedChecksums.apply(algorithm));
+            } else if (append && format == ManifestFormat.BINARY) {
+                checksums = withAppendedChecksums(checksums, calculatedChecksums.apply(algorithm));
+            }
+
+            writeChecksumsToFiles(algorithm, folder, kind, checksums);
+            entries += checksums.size();
         }
 
-        return filesInChecksumFile(checksumFile);
+        return entries;
+    }
+
+    private List<Checksum> withRemainingChecksums(List<Checksum> checksums, Map<Path, Checksum> calculatedChecksums) {
+        Set<Path> files = checksums.stream()
+                .map(Checksum::file)
+                .collect(Collectors.toSet());
+
+        List<Checksum> allChecksums = new ArrayList<>(checksums);
+        calculatedChecksums.values()
+                .stream()
+                .filter(checksum -> !files.contains(checksum.file()))
+                .filter(checksum -> Files.exists(checksum.file()))
+                .map(checksum -> checksum.metadata() == null ? checksum.withMetadata(FileMetadata.UNKNOWN) : checksum)
+                .forEach(allChecksums::add);
+
+        return allChecksums;
     }
 
-    private Set<Path> filesInChecksumFile(Path checksumFile) {
-        try(InputStream stream = Files.newInputStream(checksumFile, StandardOpenOption.READ)) {
-            return csvReader.readCsv(stream, new CsvReaderConfig())
-                    .map(rows -> rows.onColumn(FILE_HEADER).orElseThrow())
-                    .map(Path::of)
-                    .collect(Collectors.toUnmodifiableSet());
+    private List<Checksum> withAppendedChecksums(List<Checksum> checksums, Map<Path, Checksum> calculatedChecksums) {
+        List<Checksum> allChecksums = new ArrayList<>(calculatedChecksums.values());
+        allChecksums.addAll(checksums);
+        return allChecksums;
+    }
+
+    private void writeChecksumsToFiles(ChecksumAlgorithm algorithm, Path folder, ManifestKind kind, List<Checksum> checksums) {
+        Path path = checksumFileName(folder, algorithm, kind, format);
+        boolean appendToFile = append && Files.exists(path);
+
+        try {
+            if (format == ManifestFormat.BINARY) {
+                BinaryManifest.write(path, algorithm, kind == ManifestKind.TREE ? chunkSize : 0, checksums);
+                return;
+            }
+
+            if (appendToFile) {
+                csvWriter.writeToCsv(path, checksums.stream(), new CsvWriterConfig(headers(kind), false, chunkSize),
+                        writeOptions(true));
+                force(path);
+                return;
+            }
+
+            Path temp = tempFile(path);
+            try {
+                csvWriter.writeToCsv(temp, checksums.stream(), new CsvWriterConfig(headers(kind), true, chunkSize),
+                        writeOptions(false));
+                replaceDurably(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Path checksumFileName(Path folder, ChecksumAlgorithm algorithm) {
-        String filename = String.format(".%s%s", algorithm.type(), CHECKSUM_EXTENSION);
-        return folder.resolve(filename);
+    private List<String> headers(ManifestKind kind) {
+        List<String> headers = new ArrayList<>(List.of(FILE_HEADER, CHECKSUM_HEADER));
+        if (kind == ManifestKind.TREE) {
+            headers.add(CHUNK_HEADER);
+        }
+
+        if (incremental) {
+            headers.addAll(List.of(SIZE_HEADER, MODIFIED_HEADER, KEY_HEADER));
+        }
+
+        return headers;
     }
 
-    private Path toFolder(Path file) {
-        return file.getParent();
+    private ManifestKind manifestKind() {
+        if (quick) {
+            return ManifestKind.QUICK;
+        }
+
+        return tree ? ManifestKind.TREE : ManifestKind.PLAIN;
     }
 
-    private List<Path> filesToChecksum(Path file, boolean recursive) {
-        try {
-            if (Files.isDirectory(file)) {
-                if (!recursive) {
-                    try(Stream<Path> files = Files.list(file)) {
-                        return files.filter(path -> !Files.isDirectory(path))
-                                .filter(path -> !path.toString().endsWith(".checksum"))
-                                .toList();
-                    }
-                }
+    private OpenOption[] writeOptions(boolean append) {
+        if (append) {
+            return new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND};
+        }
 
-                try(Stream<Path> files = Files.walk(file)) {
-                    return files.filter(path -> !Files.isDirectory(path))
-                            .filter(path -> !path.toString().endsWith(".checksum"))
-                            .toList();
-                }
+        return new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING};
+    }
+
+    private List<Checksum> calculateChecksums(Path file, BiFunction<Path, Set<ChecksumAlgorithm>, Map<ChecksumAlgorithm, byte[]>> calculator,
+                                              Set<ChecksumAlgorithm> algorithms, FileMetadata metadata) {
+        List<Checksum> checksums = new ArrayList<>(algorithms.size());
+        calculator.apply(file, algorithms)
+                .forEach((algorithm, checksumBytes) -> checksums.add(new Checksum(file, checksumBytes, algorithm, metadata)));
+        return checksums;
+    }
+
+    private Map<Path, Checksum> getCalculatedChecksumsForFolder(Path folder, ChecksumAlgorithm algorithm) {
+        return getCalculatedChecksumsForFolder(folder, algorithm, manifestKind());
+    }
+
+    private Map<Path, Checksum> getCalculatedQuickChecksumsForFolder(Path folder, ChecksumAlgorithm algorithm) {
+        if (!quickGate) {
+            return Map.of();
+        }
+
+        return getCalculatedChecksumsForFolder(folder, algorithm, ManifestKind.QUICK);
+    }
+
+    private Map<Path, Checksum> getCalculatedChecksumsForFolder(Path folder, ChecksumAlgorithm algorithm, ManifestKind kind) {
+        if (!append && !incremental) {
+            return Map.of();
+        }
+
+        Path checksumFile = checksumFileName(folder, algorithm, kind, format);
+        if (!Files.exists(checksumFile)) {
+            return Map.of();
+        }
+
+        if (format == ManifestFormat.BINARY) {
+            return checksumsInBinaryFile(checksumFile, kind);
+        }
+
+        return checksumsInChecksumFile(checksumFile, algorithm, kind);
+    }
+
+    private Map<Path, Checksum> checksumsInBinaryFile(Path checksumFile, ManifestKind kind) {
+        try(BinaryManifest manifest = BinaryManifest.open(checksumFile)) {
+            if (kind == ManifestKind.TREE && manifest.chunkSize() != chunkSize) {
+                return Map.of();
             }
 
-            return List.of(file);
+            Map<Path, Checksum> checksums = new LinkedHashMap<>();
+            manifest.checksums().forEach(checksum -> checksums.put(checksum.file(), checksum));
+            return checksums;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Map<Path, Checksum> checksumsInChecksumFile(Path checksumFile, ChecksumAlgorithm algorithm, ManifestKind kind) {
+        try(Stream<CsvReader.Rows> rows = csvReader.readCsv(checksumFile, new CsvReaderConfig())) {
+            Map<Path, Checksum> checksums = new LinkedHashMap<>();
+            rows.filter(row -> hasCurrentChunkSize(row, kind))
+                    .map(row -> toChecksum(row, algorithm))
+                    .forEach(checksum -> checksums.put(checksum.file(), checksum));
+            return checksums;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private boolean hasCurrentChunkSize(CsvReader.Rows row, ManifestKind kind) {
+        if (kind != ManifestKind.TREE) {
+            return true;
+        }
+
+        return row.onColumn(CHUNK_HEADER)
+                .map(Long::parseLong)
+                .filter(rowChunkSize -> rowChunkSize == chunkSize)
+                .isPresent();
+    }
+
+    private void parseParameters() {
+        List<String> algorithmNames = parameters == null ? List.of() : parameters;
+        if (filesFrom == null && !algorithmNames.isEmpty()) {
+            file = Path.of(algorithmNames.get(0));
+            algorithmNames = algorithmNames.subList(1, algorithmNames.size());
+        }
+
+        algorithms = new ArrayList<>(algorithmNames.size());
+        for (String algorithmName: algorithmNames) {
+            try {
+                algorithms.add(ChecksumAlgorithm.valueOf(algorithmName));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Algorithm %s is not supported!", algorithmName), e);
+            }
+        }
+    }
+
     private void validateParameters() {
+        parseParameters();
+
+        if (filesFrom != null) {
+            if (watch) {
+                throw new IllegalArgumentException("Files list and watch modes can't be used together!");
+            }
+        } else {
+            validateFile();
+        }
+
+        if (append && incremental) {
+            throw new IllegalArgumentException("Append and incremental modes can't be used together!");
+        }
+
+        if (watch && append) {
+            throw new IllegalArgumentException("Append and watch modes can't be used together!");
+        }
+
+        if (watch && !fileAttributes.isDirectory()) {
+            throw new IllegalArgumentException(String.format("Folder %s is required for watch mode!", file));
+        }
+
+        if (quick && tree) {
+            throw new IllegalArgumentException("Quick and tree modes can't be used together!");
+        }
+
+        if (quick && quickGate) {
+            throw new IllegalArgumentException("Quick mode and quick gate can't be used together!");
+        }
+
+        if (quickGate && !incremental && !watch) {
+            throw new IllegalArgumentException("Quick gate requires incremental mode!");
+        }
+
+        if (watch && journalFile != null) {
+            throw new IllegalArgumentException("Journal and watch modes can't be used together!");
+        }
+
+        if (journalFile != null && isChecksumFile(journalFile)) {
+            throw new IllegalArgumentException(String.format("Journal %s can't be a checksum file!", journalFile));
+        }
+
+        if (journalSyncInterval < 1) {
+            throw new IllegalArgumentException(String.format("Journal sync interval %d must be positive!", journalSyncInterval));
+        }
+
+        if (deviceThreads < 0) {
+            throw new IllegalArgumentException(String.format("Device threads count %d must not be negative!", deviceThreads));
+        }
+
+        if (maxBandwidth < 0) {
+            throw new IllegalArgumentException(String.format("Max bandwidth %d must not be negative!", maxBandwidth));
+        }
+
+        if (debounceMillis < 1) {
+            throw new IllegalArgumentException(String.format("Debounce %d must be positive!", debounceMillis));
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException(String.format("Threads count %d must be positive!", threads));
+        }
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format("Chunk size %d must be positive!", chunkSize));
+        }
+
+        if (readAhead < 0) {
+            throw new IllegalArgumentException(String.format("Read-ahead depth %d must not be negative!", readAhead));
+        }
+
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException(String.format("Buffer size %d must be positive!", bufferSize));
+        }
+
+        if (statsInterval < 0) {
+            throw new IllegalArgumentException(String.format("Stats interval %d must not be negative!", statsInterval));
+        }
+
+        if (algorithms == null || algorithms.isEmpty()) {
+            throw new IllegalArgumentException("Algorithm is not defined!");
+        }
+
+        for (ChecksumAlgorithm algorithm: algorithms) {
+            if (algorithmProvider.getByChecksumAlgorithm(algorithm).isEmpty()) {
+                throw new IllegalArgumentException(String.format("For algorithm %s checksum provider is not found!", algorithm));
+            }
+        }
+    }
+
+    private void validateFile() {
         if (file == null) {
             throw new IllegalArgumentException("File is not defined!");
         }
 
-        if (!Files.exists(file)) {
+        try {
+            fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
             throw new IllegalArgumentException(
                     new FileNotFoundException(String.format("File %s is not found!", file))
             );
         }
 
-        if (!Files.isDirectory(file) && !filesPredicate.test(file)) {
-            throw new IllegalArgumentException("File %s is not supported for checksum calculation");
+        if (!fileAttributes.isDirectory() && isManifestFile(file)) {
+            throw new IllegalArgumentException(String.format("File %s is not supported for checksum calculation", file));
         }
+    }
 
-        if (algorithm == null) {
-            throw new IllegalArgumentException("Algorithm is not defined!");
+    private class Pipeline {
+
+        private final static FolderChecksums POISON = new FolderChecksums(null, null, null);
+
+        private final BiFunction<Path, Set<ChecksumAlgorithm>, Map<ChecksumAlgorithm, byte[]>> calculator;
+        private final Set<ChecksumAlgorithm> algorithms;
+        private final ChecksumListener listener;
+
+        private final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        private final IoScheduler scheduler = new IoScheduler(executor, deviceThreads > 0 ? deviceThreads : threads,
+                adaptiveIo, tree ? bandwidth : null);
+        private final ForkJoinPool walkerPool = new ForkJoinPool(threads);
+        private final Semaphore inFlight = new Semaphore(threads * IN_FLIGHT_FILES_PER_THREAD);
+        private final BlockingQueue<FolderChecksums> completedFolders = new ArrayBlockingQueue<>(COMPLETED_FOLDERS_CAPACITY);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Pipeline(BiFunction<Path, Set<ChecksumAlgorithm>, Map<ChecksumAlgorithm, byte[]>> calculator,
+                         Set<ChecksumAlgorithm> algorithms, ChecksumListener listener) {
+            this.calculator = calculator;
+            this.algorithms = algorithms;
+            this.listener = listener;
         }
 
-        if (algorithmProvider.getByChecksumAlgorithm(algorithm).isEmpty()) {
-            throw new IllegalArgumentException(String.format("For algorithm %s checksum provider is not found!", algorithm));
+        void run(Collection<Path> folders, boolean recursive) {
+            ParallelFolderWalker walker = new ParallelFolderWalker(walkerPool, recursive, ChecksumCommand.this::isHashable,
+                    () -> failure.get() != null);
+            run(() -> folders.forEach(folder -> walker.walk(folder, this::visitFolder)));
         }
-    }
 
-    private final static String SPLITTER = "|";
+        void run(Map<Path, List<Path>> filesByFolder) {
+            run(() -> filesByFolder.forEach((folder, files) -> {
+                List<ParallelFolderWalker.WalkedFile> walkedFiles = new ArrayList<>(files.size());
+                for (Path file: files) {
+                    BasicFileAttributes attributes = attributes(file);
+                    if (attributes != null && !attributes.isDirectory() && isHashable(file)) {
+                        walkedFiles.add(new ParallelFolderWalker.WalkedFile(file, attributes));
+                    }
+                }
+                visitFolder(folder, walkedFiles);
+            }));
+        }
 
-    private record CsvReaderConfig() implements CsvReader.Config {
-        @Override
-        public Charset charset() {
-            return StandardCharsets.UTF_8;
+        private BasicFileAttributes attributes(Path file) {
+            try {
+                return Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (IOException e) {
+                failedFiles.incrementAndGet();
+                System.err.printf("FAILED %s: %s%n", file, e);
+                return null;
+            }
         }
 
-        @Override
-        public String regexSplitter() {
-            return "\\|";
+        void run(Path file, BasicFileAttributes attributes) {
+            run(() -> {
+                FolderChecksums folder = newFolder(toFolder(file));
+                submit(folder, file, attributes);
+                folder.close();
+            });
         }
 
-        @Override
-        public boolean hasHeader() {
-            return true;
+        private void run(Runnable walk) {
+            Thread writer = new Thread(this::writeCompletedFolders, "checksum-writer");
+            writer.start();
+
+            listener.phaseStarted(ChecksumPhase.WALK);
+            listener.phaseStarted(ChecksumPhase.HASH);
+            try {
+                walk.run();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                walkerPool.shutdown();
+                listener.phaseFinished(ChecksumPhase.WALK);
+                awaitTermination();
+                listener.phaseFinished(ChecksumPhase.HASH);
+                put(POISON);
+                join(writer);
+            }
+
+            Throwable exception = failure.get();
+            if (exception instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            if (exception instanceof Error error) {
+                throw error;
+            }
+
+            if (exception != null) {
+                throw new RuntimeException(exception);
+            }
         }
-    }
 
-    private record CsvWriterConfig() implements CsvWriter.Config<Checksum> {
+        private void visitFolder(Path folder, List<ParallelFolderWalker.WalkedFile> files) {
+            FolderChecksums folderChecksums = newFolder(folder);
+            for (ParallelFolderWalker.WalkedFile walkedFile: order.sort(files)) {
+                submit(folderChecksums, walkedFile.file(), walkedFile.attributes());
+            }
+            folderChecksums.close();
+        }
 
-        @Override
-        public Charset charset() {
-            return StandardCharsets.UTF_8;
+        private FolderChecksums newFolder(Path folder) {
+            return new FolderChecksums(folder, ChecksumCommand.this::getCalculatedChecksumsForFolder,
+                    ChecksumCommand.this::getCalculatedQuickChecksumsForFolder, this::put);
         }
 
-        @Override
-        public String splitter() {
-            return SPLITTER;
+        private void submit(FolderChecksums folder, Path file, BasicFileAttributes attrs) {
+            listener.fileDiscovered(file, attrs.size());
+
+            FileMetadata fileMetadata = incremental || journal != null ? FileMetadata.of(attrs) : null;
+            FileMetadata metadata = incremental ? fileMetadata : null;
+
+            List<Checksum> unchangedChecksums = new ArrayList<>();
+            Set<ChecksumAlgorithm> fileAlgorithms = EnumSet.noneOf(ChecksumAlgorithm.class);
+            Map<ChecksumAlgorithm, Checksum> changedChecksums = new EnumMap<>(ChecksumAlgorithm.class);
+            for (ChecksumAlgorithm algorithm: algorithms) {
+                Checksum calculatedChecksum = folder.calculatedChecksums(algorithm).get(file);
+
+                if (calculatedChecksum != null && (!incremental || metadata.equals(calculatedChecksum.metadata()))) {
+                    if (incremental) {
+                        unchangedChecksums.add(calculatedChecksum);
+                    }
+
+                    continue;
+                }
+
+                Checksum journaledChecksum = journaledChecksum(manifestKind(), algorithm, file, fileMetadata);
+                if (journaledChecksum != null) {
+                    unchangedChecksums.add(journaledChecksum);
+                    continue;
+                }
+
+                fileAlgorithms.add(algorithm);
+                if (calculatedChecksum != null) {
+                    changedChecksums.put(algorithm, calculatedChecksum);
+                }
+            }
+
+            List<Checksum> unchangedQuickChecksums = new ArrayList<>();
+            Map<ChecksumAlgorithm, Checksum> changedQuickChecksums = new EnumMap<>(ChecksumAlgorithm.class);
+            Set<ChecksumAlgorithm> quickAlgorithms = EnumSet.noneOf(ChecksumAlgorithm.class);
+            if (quickGate) {
+                for (ChecksumAlgorithm algorithm: algorithms) {
+                    Checksum quickChecksum = folder.calculatedQuickChecksums(algorithm).get(file);
+
+                    Checksum journaledQuickChecksum = journaledChecksum(ManifestKind.QUICK, algorithm, file, fileMetadata);
+                    if (quickChecksum != null && !fileAlgorithms.contains(algorithm)
+                            && metadata.equals(quickChecksum.metadata())) {
+                        unchangedQuickChecksums.add(quickChecksum);
+                    } else if (journaledQuickChecksum != null && !fileAlgorithms.contains(algorithm)) {
+                        unchangedQuickChecksums.add(journaledQuickChecksum);
+                    } else {
+                        quickAlgorithms.add(algorithm);
+                        if (quickChecksum != null) {
+                            changedQuickChecksums.put(algorithm, quickChecksum);
+                        }
+                    }
+                }
+
+                folder.addQuickChecksums(unchangedQuickChecksums);
+            }
+
+            if (fileAlgorithms.isEmpty() && quickAlgorithms.isEmpty()) {
+                if (!unchangedChecksums.isEmpty()) {
+                    folder.add(CompletableFuture.completedFuture(unchangedChecksums));
+                }
+
+                return;
+            }
+
+            acquire();
+            CompletableFuture<List<Checksum>> result = new CompletableFuture<>();
+            folder.add(result);
+
+            FileMetadata checksumMetadata = metadata;
+            scheduler.submit(file, attrs, () -> {
+                try {
+                    Set<ChecksumAlgorithm> hashAlgorithms = fileAlgorithms;
+                    if (!quickAlgorithms.isEmpty()) {
+                        hashAlgorithms = gate(folder, file, checksumMetadata, quickAlgorithms, fileAlgorithms,
+                                changedChecksums, changedQuickChecksums, unchangedChecksums);
+                    }
+
+                    List<Checksum> checksums = hashAlgorithms.isEmpty() ? new ArrayList<>() :
+                            calculateChecksums(file, calculator, hashAlgorithms, checksumMetadata);
+                    journal(manifestKind(), checksums, fileMetadata);
+                    checksums.addAll(unchangedChecksums);
+                    result.complete(checksums);
+                } catch (Throwable e) {
+                    fail(folder.folder(), e);
+                    result.completeExceptionally(e);
+                } finally {
+                    inFlight.release();
+                }
+            });
         }
 
-        @Override
-        public List<String> headers() {
-            return List.of(FILE_HEADER, CHECKSUM_HEADER);
+        private Set<ChecksumAlgorithm> gate(FolderChecksums folder, Path file, FileMetadata metadata,
+                                            Set<ChecksumAlgorithm> quickAlgorithms, Set<ChecksumAlgorithm> fileAlgorithms,
+                                            Map<ChecksumAlgorithm, Checksum> changedChecksums,
+                                            Map<ChecksumAlgorithm, Checksum> changedQuickChecksums,
+                                            List<Checksum> unchangedChecksums) {
+            Map<ChecksumAlgorithm, byte[]> quickChecksums = quickCalculator.apply(file, quickAlgorithms);
+            List<Checksum> checksums = new ArrayList<>(quickChecksums.size());
+            quickChecksums.forEach((algorithm, checksum) -> checksums.add(new Checksum(file, checksum, algorithm, metadata)));
+            folder.addQuickChecksums(checksums);
+            journal(ManifestKind.QUICK, checksums, metadata);
+
+            List<Checksum> reusedChecksums = new ArrayList<>();
+            Set<ChecksumAlgorithm> hashAlgorithms = EnumSet.noneOf(ChecksumAlgorithm.class);
+            for (ChecksumAlgorithm algorithm: fileAlgorithms) {
+                Checksum changedChecksum = changedChecksums.get(algorithm);
+                Checksum changedQuickChecksum = changedQuickChecksums.get(algorithm);
+
+                if (changedChecksum != null && changedQuickChecksum != null
+                        && Arrays.equals(changedQuickChecksum.checksum(), quickChecksums.get(algorithm))) {
+                    reusedChecksums.add(changedChecksum.withMetadata(metadata));
+                } else {
+                    hashAlgorithms.add(algorithm);
+                }
+            }
+
+            journal(manifestKind(), reusedChecksums, metadata);
+            unchangedChecksums.addAll(reusedChecksums);
+            return hashAlgorithms;
         }
 
-        @Override
-        public BiFunction<Checksum, String, String> toFieldFunction() {
-            return (checksum, field) -> switch (field) {
-                case FILE_HEADER -> checksum.file().toString();
-                case CHECKSUM_HEADER -> HexFormat.of().formatHex(checksum.checksum());
-                default -> throw new IllegalArgumentException(String.format("Illegal field: %s", field));
-            };
+        private void writeCompletedFolders() {
+            listener.phaseStarted(ChecksumPhase.WRITE);
+            FolderChecksums folder;
+            while ((folder = take()) != POISON) {
+                try {
+                    long start = System.nanoTime();
+                    long entries = writeChecksumsToFiles(folder);
+                    listener.folderWritten(folder.folder(), entries, System.nanoTime() - start);
+                } catch (Throwable e) {
+                    fail(folder.folder(), e);
+                }
+            }
+            listener.phaseFinished(ChecksumPhase.WRITE);
         }
-    }
 
+        private void fail(Path folder, Throwable e) {
+            failure.compareAndSet(null, e instanceof Error ? e :
+                    new RuntimeException(String.format("Checksums of folder %s failed!", folder), e));
+        }
+
+        private void acquire() {
+            if (inFlight.tryAcquire()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                inFlight.acquire();
+                listener.phaseBlocked(ChecksumPhase.WALK, System.nanoTime() - start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void put(FolderChecksums folder) {
+            try {
+                completedFolders.put(folder);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        private FolderChecksums take() {
+            try {
+                return completedFolders.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void awaitTermination() {
+            try {
+                scheduler.awaitIdle();
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+
+        private void join(Thread thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
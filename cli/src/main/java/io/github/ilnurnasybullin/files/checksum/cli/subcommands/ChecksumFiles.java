@@ -0,0 +1,200 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.csv.reader.CsvReader;
+import io.github.ilnurnasybullin.csv.writer.CsvWriter;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumFileReader;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+final class ChecksumFiles {
+
+    final static String CHECKSUM_EXTENSION = ".checksum";
+    final static String TEMP_EXTENSION = ".tmp";
+
+    final static String FILE_HEADER = "file";
+    final static String CHECKSUM_HEADER = "checksum";
+    final static String SIZE_HEADER = "size";
+    final static String MODIFIED_HEADER = "modified";
+    final static String KEY_HEADER = "key";
+    final static String CHUNK_HEADER = "chunk";
+
+    final static String SPLITTER = "|";
+
+    final static int QUICK_SAMPLES = 16;
+    final static int QUICK_SAMPLE_SIZE = 64 * 1024;
+
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private final static boolean DIRECTORY_SYNC = !System.getProperty("os.name").startsWith("Windows");
+
+    private ChecksumFiles() {}
+
+    static Path checksumFileName(Path folder, ChecksumAlgorithm algorithm) {
+        return checksumFileName(folder, algorithm, ManifestKind.PLAIN);
+    }
+
+    static Path checksumFileName(Path folder, ChecksumAlgorithm algorithm, ManifestKind kind) {
+        return checksumFileName(folder, algorithm, kind, ManifestFormat.CSV);
+    }
+
+    static Path checksumFileName(Path folder, ChecksumAlgorithm algorithm, ManifestKind kind, ManifestFormat format) {
+        return folder.resolve(checksumFileName(algorithm, kind, format));
+    }
+
+    private static String checksumFileName(ChecksumAlgorithm algorithm, ManifestKind kind, ManifestFormat format) {
+        return String.format(".%s%s%s%s", algorithm.type(), kind.suffix(), format.suffix(), CHECKSUM_EXTENSION);
+    }
+
+    static Path tempFile(Path checksumFile) {
+        return checksumFile.resolveSibling(checksumFile.getFileName() + TEMP_EXTENSION);
+    }
+
+    static void replaceDurably(Path temp, Path target) throws IOException {
+        force(temp);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceFolder(target.toAbsolutePath().getParent());
+    }
+
+    static void force(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void forceFolder(Path folder) throws IOException {
+        if (!DIRECTORY_SYNC || folder == null) {
+            return;
+        }
+
+        try(FileChannel channel = FileChannel.open(folder, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    static ChecksumFileReader quickFileReader() {
+        return ChecksumFileReader.sampled(QUICK_SAMPLES, QUICK_SAMPLE_SIZE);
+    }
+
+    static boolean isChecksumFile(Path file) {
+        return file.toString().endsWith(CHECKSUM_EXTENSION);
+    }
+
+    static boolean isTempChecksumFile(Path file) {
+        return file.toString().endsWith(CHECKSUM_EXTENSION + TEMP_EXTENSION);
+    }
+
+    static boolean isManifestFile(Path file) {
+        return isChecksumFile(file) || isTempChecksumFile(file);
+    }
+
+    static Optional<ManifestType> manifestTypeOf(Path checksumFile) {
+        String filename = checksumFile.getFileName().toString();
+        return Arrays.stream(ChecksumAlgorithm.values())
+                .flatMap(algorithm -> Arrays.stream(ManifestKind.values())
+                        .flatMap(kind -> Arrays.stream(ManifestFormat.values())
+                                .map(format -> new ManifestType(algorithm, kind, format))))
+                .filter(type -> filename.equals(checksumFileName(type.algorithm(), type.kind(), type.format())))
+                .findFirst();
+    }
+
+    static Checksum toChecksum(CsvReader.Rows row, ChecksumAlgorithm algorithm) {
+        Path file = Path.of(row.onColumn(FILE_HEADER).orElseThrow());
+        byte[] checksum = row.onColumn(CHECKSUM_HEADER)
+                .map(HexFormat.of()::parseHex)
+                .orElseThrow();
+
+        FileMetadata metadata = null;
+        Optional<String> size = row.onColumn(SIZE_HEADER);
+        Optional<String> modified = row.onColumn(MODIFIED_HEADER);
+        if (size.isPresent() && modified.isPresent()) {
+            metadata = new FileMetadata(
+                    Long.parseLong(size.get()),
+                    Long.parseLong(modified.get()),
+                    row.onColumn(KEY_HEADER).orElse("")
+            );
+        }
+
+        return new Checksum(file, checksum, algorithm, metadata);
+    }
+
+    static Path toFolder(Path file) {
+        return file.getParent();
+    }
+
+    record ManifestType(ChecksumAlgorithm algorithm, ManifestKind kind, ManifestFormat format) {}
+
+    record CsvReaderConfig() implements CsvReader.Config {
+        @Override
+        public Charset charset() {
+            return StandardCharsets.UTF_8;
+        }
+
+        @Override
+        public String regexSplitter() {
+            return "\\|";
+        }
+
+        @Override
+        public boolean hasHeader() {
+            return true;
+        }
+    }
+
+    record CsvWriterConfig(List<String> headers, boolean hasHeader, long chunkSize) implements CsvWriter.Config<Checksum> {
+
+        @Override
+        public Charset charset() {
+            return StandardCharsets.UTF_8;
+        }
+
+        @Override
+        public String splitter() {
+            return SPLITTER;
+        }
+
+        @Override
+        public BiFunction<Checksum, String, String> toFieldFunction() {
+            return (checksum, field) -> switch (field) {
+                case FILE_HEADER -> checksum.file().toString();
+                case CHECKSUM_HEADER -> HexFormat.of().formatHex(checksum.checksum());
+                case SIZE_HEADER -> Long.toString(checksum.metadata().size());
+                case MODIFIED_HEADER -> Long.toString(checksum.metadata().modified());
+                case KEY_HEADER -> checksum.metadata().key();
+                case CHUNK_HEADER -> Long.toString(chunkSize);
+                default -> throw new IllegalArgumentException(String.format("Illegal field: %s", field));
+            };
+        }
+
+        @Override
+        public Optional<CsvWriter.FieldEncoder<Checksum>> fieldEncoder(String field) {
+            return Optional.of(switch (field) {
+                case FILE_HEADER -> (checksum, out) -> out.append(checksum.file());
+                case CHECKSUM_HEADER -> (checksum, out) -> appendHex(checksum.checksum(), out);
+                case SIZE_HEADER -> (checksum, out) -> out.append(checksum.metadata().size());
+                case MODIFIED_HEADER -> (checksum, out) -> out.append(checksum.metadata().modified());
+                case KEY_HEADER -> (checksum, out) -> out.append(checksum.metadata().key());
+                case CHUNK_HEADER -> (checksum, out) -> out.append(chunkSize);
+                default -> throw new IllegalArgumentException(String.format("Illegal field: %s", field));
+            });
+        }
+
+        private static void appendHex(byte[] bytes, StringBuilder out) {
+            for (byte b: bytes) {
+                out.append(HEX_DIGITS[(b >> 4) & 0xF]);
+                out.append(HEX_DIGITS[b & 0xF]);
+            }
+        }
+    }
+}
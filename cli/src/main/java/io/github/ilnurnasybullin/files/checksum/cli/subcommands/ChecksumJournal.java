@@ -0,0 +1,240 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+class ChecksumJournal implements Closeable {
+
+    private final static int MAGIC = 0x4643534A;
+    private final static int VERSION = 1;
+    private final static int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private final static int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<Key, Checksum> checksums;
+    private final ScheduledExecutorService flusher;
+
+    private ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    private IOException failure;
+
+    private ChecksumJournal(Path file, FileChannel channel, Map<Key, Checksum> checksums, long syncIntervalMillis) {
+        this.file = file;
+        this.channel = channel;
+        this.checksums = checksums;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checksum-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    static ChecksumJournal open(Path file, long chunkSize, long syncIntervalMillis) throws IOException {
+        if (syncIntervalMillis < 1) {
+            throw new IllegalArgumentException(String.format("Journal sync interval %d must be positive!", syncIntervalMillis));
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Map<Key, Checksum> checksums = new HashMap<>();
+            long validSize = replay(channel, chunkSize, checksums);
+            if (validSize == 0) {
+                checksums.clear();
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putLong(chunkSize)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                validSize = HEADER_SIZE;
+            }
+
+            channel.truncate(validSize);
+            channel.position(validSize);
+            channel.force(false);
+            return new ChecksumJournal(file, channel, checksums, syncIntervalMillis);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Checksum checksum(ManifestKind kind, ChecksumAlgorithm algorithm, Path file) {
+        return checksums.get(new Key(kind, algorithm, file));
+    }
+
+    void append(ManifestKind kind, List<Checksum> checksums) {
+        if (checksums.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        try(DataOutputStream out = new DataOutputStream(records)) {
+            for (Checksum checksum: checksums) {
+                writeRecord(out, kind, checksum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        synchronized (this) {
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+
+            batch.writeBytes(records.toByteArray());
+        }
+    }
+
+    void sync() {
+        ByteArrayOutputStream records;
+        synchronized (this) {
+            records = batch;
+            batch = new ByteArrayOutputStream();
+        }
+
+        if (records.size() == 0) {
+            return;
+        }
+
+        synchronized (channel) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdownNow();
+        sync();
+        channel.close();
+
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    private static long replay(FileChannel channel, long chunkSize, Map<Key, Checksum> checksums) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return 0;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 64 * 1024));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != chunkSize) {
+            return 0;
+        }
+
+        long validSize = HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        while (true) {
+            byte[] payload;
+            try {
+                int length = in.readInt();
+                int expectedCrc = in.readInt();
+                if (length < 0 || length > channel.size() - validSize - RECORD_HEADER_SIZE) {
+                    break;
+                }
+
+                payload = in.readNBytes(length);
+                if (payload.length != length) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+
+            Map.Entry<Key, Checksum> record = readRecord(payload);
+            checksums.put(record.getKey(), record.getValue());
+            validSize += RECORD_HEADER_SIZE + payload.length;
+        }
+
+        return validSize;
+    }
+
+    private static void writeRecord(DataOutputStream out, ManifestKind kind, Checksum checksum) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(DataOutputStream payload = new DataOutputStream(bytes)) {
+            FileMetadata metadata = checksum.metadata();
+            payload.writeByte(kind.ordinal());
+            payload.writeByte(checksum.algorithm().ordinal());
+            writeBytes(payload, checksum.file().toString().getBytes(StandardCharsets.UTF_8));
+            writeBytes(payload, checksum.checksum());
+            payload.writeLong(metadata.size());
+            payload.writeLong(metadata.modified());
+            writeBytes(payload, metadata.key().getBytes(StandardCharsets.UTF_8));
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        out.writeInt(bytes.size());
+        out.writeInt((int) crc.getValue());
+        bytes.writeTo(out);
+    }
+
+    private static Map.Entry<Key, Checksum> readRecord(byte[] record) throws IOException {
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(record));
+        ManifestKind kind = ManifestKind.values()[payload.readUnsignedByte()];
+        ChecksumAlgorithm algorithm = ChecksumAlgorithm.values()[payload.readUnsignedByte()];
+        Path file = Path.of(new String(readBytes(payload), StandardCharsets.UTF_8));
+        byte[] checksum = readBytes(payload);
+        FileMetadata metadata = new FileMetadata(
+                payload.readLong(),
+                payload.readLong(),
+                new String(readBytes(payload), StandardCharsets.UTF_8)
+        );
+
+        return Map.entry(new Key(kind, algorithm, file), new Checksum(file, checksum, algorithm, metadata));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        return in.readNBytes(in.readInt());
+    }
+
+    private record Key(ManifestKind kind, ChecksumAlgorithm algorithm, Path file) {}
+}
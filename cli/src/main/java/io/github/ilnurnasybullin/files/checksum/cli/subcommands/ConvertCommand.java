@@ -0,0 +1,150 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.csv.reader.CsvReader;
+import io.github.ilnurnasybullin.csv.writer.CsvWriter;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static io.github.ilnurnasybullin.files.checksum.cli.subcommands.ChecksumFiles.*;
+
+@Command(name = "convert")
+public class ConvertCommand implements Runnable {
+
+    private final CsvReader csvReader;
+    private final CsvWriter csvWriter;
+
+    @Option(names = {"-r", "--recursive"})
+    private boolean recursive = false;
+
+    @Option(names = {"--to"}, required = true)
+    private ManifestFormat format;
+
+    @Option(names = {"--delete-source"})
+    private boolean deleteSource = false;
+
+    @Parameters(index = "0")
+    private Path folder;
+
+    public ConvertCommand() {
+        this(CsvReader.getInstance(), CsvWriter.getInstance());
+    }
+
+    public ConvertCommand(CsvReader csvReader, CsvWriter csvWriter) {
+        this.csvReader = csvReader;
+        this.csvWriter = csvWriter;
+    }
+
+    @Override
+    public void run() {
+        validateParameters();
+
+        try(Stream<Path> folders = folders()) {
+            folders.forEach(this::convertFolder);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void convertFolder(Path folder) {
+        try(Stream<Path> files = Files.list(folder)) {
+            for (Path checksumFile: files.filter(ChecksumFiles::isChecksumFile).sorted().toList()) {
+                Optional<ManifestType> manifestType = manifestTypeOf(checksumFile);
+                if (manifestType.isPresent() && manifestType.get().format() != format) {
+                    convert(folder, checksumFile, manifestType.get());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void convert(Path folder, Path checksumFile, ManifestType type) throws IOException {
+        Path target = checksumFileName(folder, type.algorithm(), type.kind(), format);
+
+        if (type.format() == ManifestFormat.BINARY) {
+            List<Checksum> checksums;
+            long chunkSize;
+            try(BinaryManifest manifest = BinaryManifest.open(checksumFile)) {
+                checksums = manifest.checksums().toList();
+                chunkSize = manifest.chunkSize();
+            }
+            writeCsv(target, checksums, type.kind() == ManifestKind.TREE, chunkSize);
+        } else {
+            List<Checksum> checksums = new ArrayList<>();
+            List<Long> chunkSizes = new ArrayList<>();
+            try(Stream<CsvReader.Rows> rows = csvReader.readCsv(checksumFile, new CsvReaderConfig())) {
+                rows.forEach(row -> {
+                    checksums.add(toChecksum(row, type.algorithm()));
+                    row.onColumn(CHUNK_HEADER)
+                            .map(Long::parseLong)
+                            .filter(chunkSize -> !chunkSizes.contains(chunkSize))
+                            .ifPresent(chunkSizes::add);
+                });
+            }
+
+            if (chunkSizes.size() > 1) {
+                throw new IllegalArgumentException(
+                        String.format("Checksum file %s with different chunk sizes can't be converted!", checksumFile)
+                );
+            }
+
+            BinaryManifest.write(target, type.algorithm(), chunkSizes.isEmpty() ? 0 : chunkSizes.get(0), checksums);
+        }
+
+        if (deleteSource) {
+            Files.delete(checksumFile);
+        }
+    }
+
+    private void writeCsv(Path target, List<Checksum> checksums, boolean tree, long chunkSize) throws IOException {
+        List<String> headers = new ArrayList<>(List.of(FILE_HEADER, CHECKSUM_HEADER));
+        if (tree) {
+            headers.add(CHUNK_HEADER);
+        }
+
+        if (!checksums.isEmpty() && checksums.stream().allMatch(checksum -> checksum.metadata() != null)) {
+            headers.addAll(List.of(SIZE_HEADER, MODIFIED_HEADER, KEY_HEADER));
+        }
+
+        Path temp = tempFile(target);
+        try {
+            csvWriter.writeToCsv(temp, checksums.stream(), new CsvWriterConfig(headers, true, chunkSize),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            replaceDurably(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Stream<Path> folders() throws IOException {
+        if (!recursive) {
+            return Stream.of(folder);
+        }
+
+        return Files.walk(folder)
+                .filter(Files::isDirectory);
+    }
+
+    private void validateParameters() {
+        if (folder == null) {
+            throw new IllegalArgumentException("Folder is not defined!");
+        }
+
+        if (!Files.isDirectory(folder)) {
+            throw new IllegalArgumentException(
+                    new FileNotFoundException(String.format("Folder %s is not found!", folder))
+            );
+        }
+    }
+}
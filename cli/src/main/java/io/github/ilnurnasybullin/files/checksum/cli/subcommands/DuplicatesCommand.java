@@ -0,0 +1,246 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithmProvider;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumCalculator;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumDigest;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static io.github.ilnurnasybullin.files.checksum.cli.subcommands.ChecksumFiles.isManifestFile;
+
+@Command(name = "duplicates")
+public class DuplicatesCommand implements Runnable {
+
+    private final ChecksumAlgorithmProvider algorithmProvider;
+    private final PrintStream out;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Option(names = {"-r", "--recursive"})
+    private boolean recursive = false;
+
+    @Option(names = {"-t", "--threads", "--parallelism"})
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"-a", "--algorithm"})
+    private ChecksumAlgorithm algorithm = ChecksumAlgorithm.SHA256;
+
+    @Option(names = {"--sample-size"})
+    private int sampleSize = 4 * 1024;
+
+    @Parameters(index = "0")
+    private Path folder;
+
+    public DuplicatesCommand() {
+        this(ChecksumAlgorithmProvider.getInstance(), System.out);
+    }
+
+    public DuplicatesCommand(ChecksumAlgorithmProvider algorithmProvider, PrintStream out) {
+        this.algorithmProvider = algorithmProvider;
+        this.out = out;
+    }
+
+    @Override
+    public void run() {
+        validateParameters();
+
+        ChecksumCalculator calculator = algorithmProvider.getByChecksumAlgorithm(algorithm).get().get();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<Long, List<Path>> filesBySize = filesBySize();
+            long totalBytes = filesBySize.entrySet()
+                    .stream()
+                    .mapToLong(entry -> entry.getKey() * entry.getValue().size())
+                    .sum();
+
+            List<Group> candidates = filesBySize.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getKey() > 0 && entry.getValue().size() > 1)
+                    .map(entry -> new Group(entry.getKey(), entry.getValue()))
+                    .toList();
+
+            List<Group> partialDuplicates = regroup(candidates, (file, size) -> partialChecksum(file, calculator), executor);
+            List<Group> duplicates = new ArrayList<>();
+            List<Group> fullCandidates = new ArrayList<>();
+            for (Group group: partialDuplicates) {
+                if (group.size() <= 2L * sampleSize) {
+                    duplicates.add(group);
+                } else {
+                    fullCandidates.add(group);
+                }
+            }
+            duplicates.addAll(regroup(fullCandidates, (file, size) -> fullChecksum(file, size, calculator), executor));
+
+            report(duplicates, totalBytes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Long, List<Path>> filesBySize() {
+        Map<Long, List<Path>> filesBySize = new ConcurrentHashMap<>();
+        Set<Object> fileKeys = ConcurrentHashMap.newKeySet();
+        ForkJoinPool walkerPool = new ForkJoinPool(threads);
+        try {
+            new ParallelFolderWalker(walkerPool, recursive, file -> !isManifestFile(file), () -> false)
+                    .walk(folder, (dir, files) -> files.stream()
+                            .filter(file -> isFirstLink(file, fileKeys))
+                            .forEach(file -> filesBySize
+                                    .computeIfAbsent(file.size(), size -> Collections.synchronizedList(new ArrayList<>()))
+                                    .add(file.file())));
+        } finally {
+            walkerPool.shutdownNow();
+        }
+
+        return filesBySize;
+    }
+
+    private boolean isFirstLink(ParallelFolderWalker.WalkedFile file, Set<Object> fileKeys) {
+        Object fileKey = file.attributes().fileKey();
+        return fileKey == null || fileKeys.add(fileKey);
+    }
+
+    private List<Group> regroup(List<Group> groups, BiFunction<Path, Long, ByteBuffer> checksum,
+                                ExecutorService executor) {
+        List<CompletableFuture<List<Group>>> regrouped = new ArrayList<>(groups.size());
+        for (Group group: groups) {
+            List<CompletableFuture<Map.Entry<ByteBuffer, Path>>> checksums = group.files().stream()
+                    .map(file -> CompletableFuture.supplyAsync(() -> checksum(file, group.size(), checksum), executor))
+                    .toList();
+
+            regrouped.add(CompletableFuture.allOf(checksums.toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> checksums.stream()
+                            .map(CompletableFuture::join)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.groupingBy(Map.Entry::getKey, LinkedHashMap::new,
+                                    Collectors.mapping(Map.Entry::getValue, Collectors.toList())))
+                            .values()
+                            .stream()
+                            .filter(files -> files.size() > 1)
+                            .map(files -> new Group(group.size(), files))
+                            .toList()));
+        }
+
+        List<Group> duplicates = new ArrayList<>();
+        regrouped.forEach(future -> duplicates.addAll(future.join()));
+        return duplicates;
+    }
+
+    private Map.Entry<ByteBuffer, Path> checksum(Path file, long size, BiFunction<Path, Long, ByteBuffer> checksum) {
+        try {
+            return Map.entry(checksum.apply(file, size), file);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            synchronized (out) {
+                out.printf("FAILED %s%n", file);
+            }
+            return null;
+        }
+    }
+
+    private ByteBuffer partialChecksum(Path file, ChecksumCalculator calculator) {
+        ChecksumDigest digest = calculator.digest(algorithm);
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= 2L * sampleSize) {
+                readFully(channel, 0, (int) size, digest);
+            } else {
+                readFully(channel, 0, sampleSize, digest);
+                readFully(channel, size - sampleSize, sampleSize, digest);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    private void readFully(FileChannel channel, long position, int length, ChecksumDigest digest) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                break;
+            }
+        }
+
+        bytesRead.addAndGet(buffer.position());
+        buffer.flip();
+        digest.update(buffer);
+    }
+
+    private ByteBuffer fullChecksum(Path file, long size, ChecksumCalculator calculator) {
+        byte[] checksum = calculator.calculate(file, algorithm);
+        bytesRead.addAndGet(size);
+        return ByteBuffer.wrap(checksum);
+    }
+
+    private void report(List<Group> duplicates, long totalBytes) {
+        long duplicateFiles = 0;
+        long reclaimableBytes = 0;
+        List<Group> sortedGroups = duplicates.stream()
+                .map(group -> new Group(group.size(), group.files().stream().sorted().toList()))
+                .sorted(Comparator.comparing(group -> group.files().get(0)))
+                .toList();
+
+        for (Group group: sortedGroups) {
+            List<Path> files = group.files();
+            long size = group.size();
+            duplicateFiles += files.size() - 1;
+            reclaimableBytes += size * (files.size() - 1);
+
+            out.printf("%d bytes x %d%n", size, files.size());
+            files.forEach(file -> out.printf("  %s%n", file));
+        }
+
+        out.printf("Found %d duplicate groups, %d duplicate files, %d reclaimable bytes; read %d of %d bytes, %d failed%n",
+                duplicates.size(), duplicateFiles, reclaimableBytes, bytesRead.get(), totalBytes, failed.get());
+    }
+
+    private void validateParameters() {
+        if (folder == null) {
+            throw new IllegalArgumentException("Folder is not defined!");
+        }
+
+        if (!Files.isDirectory(folder)) {
+            throw new IllegalArgumentException(
+                    new FileNotFoundException(String.format("Folder %s is not found!", folder))
+            );
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException(String.format("Threads count %d must be positive!", threads));
+        }
+
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException(String.format("Sample size %d must be positive!", sampleSize));
+        }
+
+        if (algorithmProvider.getByChecksumAlgorithm(algorithm).isEmpty()) {
+            throw new IllegalArgumentException(String.format("For algorithm %s checksum provider is not found!", algorithm));
+        }
+    }
+
+    private record Group(long size, List<Path> files) {}
+}
@@ -0,0 +1,34 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+record FileMetadata(long size, long modified, String key) {
+
+    final static FileMetadata UNKNOWN = new FileMetadata(-1, -1, "");
+
+    static FileMetadata of(Path file) {
+        try {
+            return of(Files.readAttributes(file, BasicFileAttributes.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static FileMetadata of(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return new FileMetadata(
+                attributes.size(),
+                attributes.lastModifiedTime().toMillis(),
+                fileKey == null ? "" : fileKey.toString()
+        );
+    }
+
+    FileMetadata {
+        Objects.requireNonNull(key);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.List;
+
+public enum FileOrder {
+    NONE(false),
+    INODE(false),
+    SIZE(true);
+
+    private final static String INODE_PREFIX = "ino=";
+
+    private final boolean bySizeClass;
+
+    FileOrder(boolean bySizeClass) {
+        this.bySizeClass = bySizeClass;
+    }
+
+    List<ParallelFolderWalker.WalkedFile> sort(List<ParallelFolderWalker.WalkedFile> files) {
+        if (this == NONE || files.size() < 2) {
+            return files;
+        }
+
+        return files.stream()
+                .map(file -> new SortKey(bySizeClass ? sizeClassOf(file.attributes()) : 0, inodeOf(file.attributes()), file))
+                .sorted(Comparator.comparingInt(SortKey::sizeClass).thenComparingLong(SortKey::inode))
+                .map(SortKey::file)
+                .toList();
+    }
+
+    private static long inodeOf(BasicFileAttributes attributes) {
+        String inode = IoScheduler.fileKeyValue(attributes, INODE_PREFIX);
+        if (inode == null || inode.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        try {
+            return Long.parseLong(inode);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static int sizeClassOf(BasicFileAttributes attributes) {
+        return Long.SIZE - Long.numberOfLeadingZeros(attributes.size());
+    }
+
+    private record SortKey(int sizeClass, long inode, ParallelFolderWalker.WalkedFile file) {}
+}
@@ -0,0 +1,84 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+class FolderChecksums {
+
+    private final Path folder;
+    private final BiFunction<Path, ChecksumAlgorithm, Map<Path, Checksum>> calculatedChecksumsLoader;
+    private final BiFunction<Path, ChecksumAlgorithm, Map<Path, Checksum>> calculatedQuickChecksumsLoader;
+    private final Consumer<FolderChecksums> onComplete;
+
+    private final Map<ChecksumAlgorithm, Map<Path, Checksum>> calculatedChecksums = new EnumMap<>(ChecksumAlgorithm.class);
+    private final Map<ChecksumAlgorithm, Map<Path, Checksum>> calculatedQuickChecksums = new EnumMap<>(ChecksumAlgorithm.class);
+    private final ConcurrentLinkedQueue<Checksum> quickChecksums = new ConcurrentLinkedQueue<>();
+    private final List<CompletableFuture<List<Checksum>>> files = new ArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    FolderChecksums(Path folder, BiFunction<Path, ChecksumAlgorithm, Map<Path, Checksum>> calculatedChecksumsLoader,
+                    Consumer<FolderChecksums> onComplete) {
+        this(folder, calculatedChecksumsLoader, (dir, algorithm) -> Map.of(), onComplete);
+    }
+
+    FolderChecksums(Path folder, BiFunction<Path, ChecksumAlgorithm, Map<Path, Checksum>> calculatedChecksumsLoader,
+                    BiFunction<Path, ChecksumAlgorithm, Map<Path, Checksum>> calculatedQuickChecksumsLoader,
+                    Consumer<FolderChecksums> onComplete) {
+        this.folder = folder;
+        this.calculatedChecksumsLoader = calculatedChecksumsLoader;
+        this.calculatedQuickChecksumsLoader = calculatedQuickChecksumsLoader;
+        this.onComplete = onComplete;
+    }
+
+    Path folder() {
+        return folder;
+    }
+
+    Map<Path, Checksum> calculatedChecksums(ChecksumAlgorithm algorithm) {
+        return calculatedChecksums.computeIfAbsent(algorithm, alg -> calculatedChecksumsLoader.apply(folder, alg));
+    }
+
+    Map<Path, Checksum> calculatedQuickChecksums(ChecksumAlgorithm algorithm) {
+        return calculatedQuickChecksums.computeIfAbsent(algorithm, alg -> calculatedQuickChecksumsLoader.apply(folder, alg));
+    }
+
+    void addQuickChecksums(List<Checksum> checksums) {
+        quickChecksums.addAll(checksums);
+    }
+
+    void add(CompletableFuture<List<Checksum>> file) {
+        pending.incrementAndGet();
+        files.add(file);
+        file.whenComplete((checksums, exception) -> release());
+    }
+
+    void close() {
+        release();
+    }
+
+    List<Checksum> checksums() {
+        List<Checksum> checksums = new ArrayList<>();
+        files.forEach(file -> checksums.addAll(file.join()));
+        return checksums;
+    }
+
+    List<Checksum> quickChecksums() {
+        return List.copyOf(quickChecksums);
+    }
+
+    private void release() {
+        if (pending.decrementAndGet() == 0) {
+            onComplete.accept(this);
+        }
+    }
+}
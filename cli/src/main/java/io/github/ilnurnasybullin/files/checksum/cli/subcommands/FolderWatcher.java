@@ -0,0 +1,113 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.ilnurnasybullin.files.checksum.cli.subcommands.ChecksumFiles.isManifestFile;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+class FolderWatcher implements Closeable {
+
+    private final static int MAX_DEBOUNCE_PERIODS = 10;
+
+    private final WatchService watchService;
+    private final boolean recursive;
+    private final long debounceMillis;
+    private final Map<WatchKey, Path> folders = new HashMap<>();
+
+    FolderWatcher(Path root, boolean recursive, long debounceMillis) throws IOException {
+        this.watchService = root.getFileSystem().newWatchService();
+        this.recursive = recursive;
+        this.debounceMillis = debounceMillis;
+        register(root);
+    }
+
+    Changes await() throws IOException, InterruptedException {
+        Set<Path> changedFolders = new LinkedHashSet<>();
+        Set<Path> createdFolders = new LinkedHashSet<>();
+
+        WatchKey key = watchService.take();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis * MAX_DEBOUNCE_PERIODS);
+        while (key != null) {
+            collect(key, changedFolders, createdFolders);
+            key = System.nanoTime() < deadline ? watchService.poll(debounceMillis, TimeUnit.MILLISECONDS) : null;
+        }
+
+        changedFolders.removeIf(folder -> !Files.isDirectory(folder) || isInside(folder, createdFolders));
+        createdFolders.removeIf(folder -> !Files.isDirectory(folder));
+        return new Changes(changedFolders, createdFolders);
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void collect(WatchKey key, Set<Path> changedFolders, Set<Path> createdFolders) throws IOException {
+        Path folder = folders.get(key);
+        for (WatchEvent<?> event: key.pollEvents()) {
+            if (folder == null) {
+                continue;
+            }
+
+            if (event.kind() == OVERFLOW) {
+                changedFolders.add(folder);
+                continue;
+            }
+
+            Path file = folder.resolve((Path) event.context());
+            if (isManifestFile(file)) {
+                continue;
+            }
+
+            if (Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                if (recursive && event.kind() == ENTRY_CREATE) {
+                    register(file);
+                    createdFolders.add(file);
+                }
+
+                continue;
+            }
+
+            changedFolders.add(folder);
+        }
+
+        if (!key.reset()) {
+            folders.remove(key);
+        }
+    }
+
+    private void register(Path root) throws IOException {
+        if (!recursive) {
+            folders.put(root.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), root);
+            return;
+        }
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                folders.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean isInside(Path folder, Set<Path> roots) {
+        for (Path root: roots) {
+            if (folder.startsWith(root)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    record Changes(Set<Path> changedFolders, Set<Path> createdFolders) {}
+}
@@ -0,0 +1,198 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+class IoScheduler {
+
+    private final static String DEVICE_PREFIX = "dev=";
+    private final static long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private final static int WINDOW_MIN_FILES = 8;
+    private final static double THROUGHPUT_TOLERANCE = 0.95;
+    private final static double LATENCY_TOLERANCE = 2.0;
+    private final static double BASELINE_DECAY = 1.05;
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final boolean adaptive;
+    private final BandwidthLimiter bandwidth;
+    private final Map<Object, Device> devices = new ConcurrentHashMap<>();
+    private final ThreadLocal<FolderDevice> folderDevices = new ThreadLocal<>();
+
+    private long pending;
+
+    IoScheduler(Executor executor, int maxConcurrency, boolean adaptive, BandwidthLimiter bandwidth) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(String.format("Device concurrency %d must be positive!", maxConcurrency));
+        }
+
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.adaptive = adaptive;
+        this.bandwidth = bandwidth;
+    }
+
+    void submit(Path file, BasicFileAttributes attributes, Runnable task) {
+        synchronized (this) {
+            pending++;
+        }
+
+        devices.computeIfAbsent(deviceOf(file, attributes), device -> new Device())
+                .submit(new Task(attributes.size(), task));
+    }
+
+    synchronized void awaitIdle() throws InterruptedException {
+        while (pending > 0) {
+            wait();
+        }
+    }
+
+    private synchronized void completed() {
+        if (--pending == 0) {
+            notifyAll();
+        }
+    }
+
+    private Object deviceOf(Path file, BasicFileAttributes attributes) {
+        String device = fileKeyValue(attributes, DEVICE_PREFIX);
+        if (device != null) {
+            return device;
+        }
+
+        Path folder = file.getParent();
+        FolderDevice folderDevice = folderDevices.get();
+        if (folderDevice != null && Objects.equals(folderDevice.folder(), folder)) {
+            return folderDevice.device();
+        }
+
+        try {
+            Object fileStore = Files.getFileStore(file);
+            folderDevices.set(new FolderDevice(folder, fileStore));
+            return fileStore;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String fileKeyValue(BasicFileAttributes attributes, String prefix) {
+        Object fileKey = attributes.fileKey();
+        if (fileKey == null) {
+            return null;
+        }
+
+        String key = fileKey.toString();
+        int start = key.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+
+        start += prefix.length();
+        int end = start;
+        while (end < key.length() && Character.isLetterOrDigit(key.charAt(end))) {
+            end++;
+        }
+
+        return key.substring(start, end);
+    }
+
+    private record Task(long size, Runnable task) {}
+
+    private record FolderDevice(Path folder, Object device) {}
+
+    private class Device {
+
+        private final Queue<Task> queue = new ArrayDeque<>();
+        private int limit = adaptive ? Math.max(1, maxConcurrency / 2) : maxConcurrency;
+        private int running;
+
+        private long windowStart = System.nanoTime();
+        private long windowBytes;
+        private long windowBusyNanos;
+        private int windowFiles;
+        private boolean windowSaturated;
+        private double previousThroughput;
+        private double baselineNanosPerByte = Double.MAX_VALUE;
+
+        synchronized void submit(Task task) {
+            queue.add(task);
+            dispatch();
+        }
+
+        private void dispatch() {
+            while (running < limit && !queue.isEmpty()) {
+                Task task = queue.poll();
+                running++;
+                executor.execute(() -> run(task));
+            }
+
+            windowSaturated |= !queue.isEmpty();
+        }
+
+        private void run(Task task) {
+            long nanos = 0;
+            try {
+                long start = System.nanoTime();
+                task.task().run();
+                nanos = System.nanoTime() - start;
+
+                if (bandwidth != null) {
+                    bandwidth.consumed(task.size());
+                }
+            } finally {
+                completed(task.size(), nanos);
+                IoScheduler.this.completed();
+            }
+        }
+
+        private synchronized void completed(long bytes, long nanos) {
+            running--;
+            if (adaptive) {
+                windowBytes += bytes;
+                windowBusyNanos += nanos;
+                windowFiles++;
+                adjust();
+            }
+
+            dispatch();
+        }
+
+        private void adjust() {
+            long now = System.nanoTime();
+            long elapsed = now - windowStart;
+            if (elapsed < WINDOW_NANOS || windowFiles < WINDOW_MIN_FILES || windowBytes == 0) {
+                return;
+            }
+
+            double throughput = (double) windowBytes / elapsed;
+            double nanosPerByte = (double) windowBusyNanos / windowBytes;
+            baselineNanosPerByte = Math.min(baselineNanosPerByte * BASELINE_DECAY, nanosPerByte);
+
+            if (nanosPerByte > baselineNanosPerByte * LATENCY_TOLERANCE) {
+                limit = Math.max(1, limit * 3 / 4);
+            } else if (throughput >= previousThroughput * THROUGHPUT_TOLERANCE) {
+                if (windowSaturated) {
+                    limit = Math.min(maxConcurrency, limit + 1);
+                }
+            } else {
+                limit = Math.max(1, limit - 1);
+            }
+
+            previousThroughput = throughput;
+            windowStart = now;
+            windowBytes = 0;
+            windowBusyNanos = 0;
+            windowFiles = 0;
+            windowSaturated = false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+public enum ManifestFormat {
+    CSV(""),
+    BINARY(".binary");
+
+    private final String suffix;
+
+    ManifestFormat(String suffix) {
+        this.suffix = suffix;
+    }
+
+    String suffix() {
+        return suffix;
+    }
+}
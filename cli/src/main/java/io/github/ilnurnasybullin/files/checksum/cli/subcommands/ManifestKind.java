@@ -0,0 +1,17 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+enum ManifestKind {
+    PLAIN(""),
+    TREE(".tree"),
+    QUICK(".quick");
+
+    private final String suffix;
+
+    ManifestKind(String suffix) {
+        this.suffix = suffix;
+    }
+
+    String suffix() {
+        return suffix;
+    }
+}
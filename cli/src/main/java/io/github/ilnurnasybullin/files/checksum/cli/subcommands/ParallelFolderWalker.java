@@ -0,0 +1,111 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+class ParallelFolderWalker {
+
+    private final ForkJoinPool pool;
+    private final boolean recursive;
+    private final Predicate<Path> filter;
+    private final BooleanSupplier cancelled;
+
+    ParallelFolderWalker(ForkJoinPool pool, boolean recursive, Predicate<Path> filter, BooleanSupplier cancelled) {
+        this.pool = pool;
+        this.recursive = recursive;
+        this.filter = filter;
+        this.cancelled = cancelled;
+    }
+
+    void walk(Path folder, FolderVisitor visitor) {
+        pool.invoke(new FolderTask(folder, visitor));
+    }
+
+    @FunctionalInterface
+    interface FolderVisitor {
+        void visitFolder(Path folder, List<WalkedFile> files);
+    }
+
+    record WalkedFile(Path file, BasicFileAttributes attributes) {
+        long size() {
+            return attributes.size();
+        }
+    }
+
+    private class FolderTask extends RecursiveAction {
+
+        private final Path folder;
+        private final FolderVisitor visitor;
+
+        private FolderTask(Path folder, FolderVisitor visitor) {
+            this.folder = folder;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+
+            List<WalkedFile> files = new ArrayList<>();
+            List<FolderTask> subfolders = new ArrayList<>();
+            try(DirectoryStream<Path> entries = Files.newDirectoryStream(folder)) {
+                for (Path entry: entries) {
+                    BasicFileAttributes attributes = attributes(entry);
+                    if (attributes == null) {
+                        continue;
+                    }
+
+                    if (attributes.isDirectory()) {
+                        if (recursive) {
+                            subfolders.add(new FolderTask(entry, visitor));
+                        }
+                    } else if (!filter.test(entry)) {
+                        continue;
+                    } else if (attributes.isSymbolicLink()) {
+                        BasicFileAttributes target = targetAttributes(entry);
+                        if (target != null && !target.isDirectory()) {
+                            files.add(new WalkedFile(entry, target));
+                        }
+                    } else {
+                        files.add(new WalkedFile(entry, attributes));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            visitor.visitFolder(folder, files);
+            invokeAll(subfolders);
+        }
+
+        private BasicFileAttributes attributes(Path entry) throws IOException {
+            try {
+                return Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+
+        private BasicFileAttributes targetAttributes(Path link) throws IOException {
+            try {
+                return Files.readAttributes(link, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+    }
+}
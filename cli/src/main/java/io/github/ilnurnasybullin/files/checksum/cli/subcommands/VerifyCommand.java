@@ -0,0 +1,270 @@
+package io.github.ilnurnasybullin.files.checksum.cli.subcommands;
+
+import io.github.ilnurnasybullin.csv.reader.CsvReader;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithm;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithmProvider;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumCalculator;
+import io.github.ilnurnasybullin.files.checksum.core.ChecksumListener;
+import io.github.ilnurnasybullin.files.checksum.core.MultiChecksumCalculator;
+import io.github.ilnurnasybullin.files.checksum.core.TreeChecksumCalculator;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static io.github.ilnurnasybullin.files.checksum.cli.subcommands.ChecksumFiles.*;
+
+@Command(name = "verify", exitCodeListHeading = "Exit Codes:%n", exitCodeList = {
+        " 0:All listed files are verified",
+        " 1:Unexpected error",
+        " 2:Invalid command line usage",
+        " 3:Some files are mismatched, changed, missing or extra",
+        " 4:Some manifests or files could not be read"
+})
+public class VerifyCommand implements Callable<Integer> {
+
+    public final static int OK = 0;
+    public final static int CORRUPTED = 3;
+    public final static int FAILED = 4;
+
+    private final ChecksumAlgorithmProvider algorithmProvider;
+    private final CsvReader csvReader;
+    private final PrintStream out;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong mismatched = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+    private final AtomicLong extra = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Option(names = {"-r", "--recursive"})
+    private boolean recursive = false;
+
+    @Option(names = {"-t", "--threads", "--parallelism"})
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameters(index = "0")
+    private Path folder;
+
+    public VerifyCommand() {
+        this(ChecksumAlgorithmProvider.getInstance(), CsvReader.getInstance(), System.out);
+    }
+
+    public VerifyCommand(ChecksumAlgorithmProvider algorithmProvider, CsvReader csvReader, PrintStream out) {
+        this.algorithmProvider = algorithmProvider;
+        this.csvReader = csvReader;
+        this.out = out;
+    }
+
+    @Override
+    public Integer call() {
+        validateParameters();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ForkJoinPool treePool = new ForkJoinPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 4);
+        try {
+            try(Stream<Path> folders = folders(folder, recursive)) {
+                folders.forEach(fd -> verifyFolder(fd, executor, treePool, inFlight));
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+            treePool.shutdownNow();
+        }
+
+        out.printf("Verified %d files: %d mismatched, %d missing, %d extra, %d failed%n",
+                verified.get(), mismatched.get(), missing.get(), extra.get(), failed.get());
+
+        if (failed.get() > 0) {
+            return FAILED;
+        }
+
+        return mismatched.get() + missing.get() + extra.get() > 0 ? CORRUPTED : OK;
+    }
+
+    private void verifyFolder(Path folder, ExecutorService executor, ForkJoinPool treePool, Semaphore inFlight) {
+        List<Path> checksumFiles = checksumFiles(folder);
+        Set<Path> unlistedFiles = filesInFolder(folder);
+        boolean manifestRead = false;
+        boolean manifestFailed = false;
+        for (Path checksumFile: checksumFiles) {
+            Optional<ManifestType> manifestType = manifestTypeOf(checksumFile);
+            if (manifestType.isEmpty()) {
+                continue;
+            }
+
+            manifestRead = true;
+            ChecksumAlgorithm algorithm = manifestType.get().algorithm();
+            ManifestKind kind = manifestType.get().kind();
+            ChecksumCalculator calculator = algorithmProvider.getByChecksumAlgorithm(algorithm)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            String.format("For algorithm %s checksum provider is not found!", algorithm)
+                    ))
+                    .get();
+            MultiChecksumCalculator quickCalculator = kind == ManifestKind.QUICK ?
+                    new MultiChecksumCalculator(Map.of(algorithm, calculator), ChecksumListener.NONE, quickFileReader()) :
+                    null;
+
+            try(Stream<ManifestEntry> entries = manifestEntries(checksumFile, manifestType.get().format())) {
+                entries.forEach(entry -> {
+                    Path file = folder.resolve(entry.file().getFileName());
+                    unlistedFiles.remove(file);
+
+                    Function<Path, byte[]> fileCalculator = switch (kind) {
+                        case TREE -> treeCalculator(entry.chunkSize(), calculator, algorithm, treePool);
+                        case QUICK -> path -> quickCalculator.calculate(path, Set.of(algorithm)).get(algorithm);
+                        case PLAIN -> path -> calculator.calculate(path, algorithm);
+                    };
+                    String mismatchStatus = kind == ManifestKind.QUICK ? "CHANGED" : "MISMATCH";
+                    submit(executor, inFlight, () -> verifyFile(file, entry.checksum(), fileCalculator, mismatchStatus));
+                });
+            } catch (IOException | RuntimeException e) {
+                report("FAILED", checksumFile, failed);
+                manifestFailed = true;
+            }
+        }
+
+        if (manifestRead && !manifestFailed) {
+            unlistedFiles.forEach(file -> report("EXTRA", file, extra));
+        }
+    }
+
+    private Stream<ManifestEntry> manifestEntries(Path checksumFile, ManifestFormat format) throws IOException {
+        if (format == ManifestFormat.BINARY) {
+            BinaryManifest manifest = BinaryManifest.open(checksumFile);
+            return manifest.checksums()
+                    .map(checksum -> new ManifestEntry(checksum.file(), checksum.checksum(), manifest.chunkSize()))
+                    .onClose(manifest::close);
+        }
+
+        return csvReader.readCsv(checksumFile, new CsvReaderConfig())
+                .map(row -> new ManifestEntry(
+                        Path.of(row.onColumn(FILE_HEADER).orElseThrow()),
+                        HexFormat.of().parseHex(row.onColumn(CHECKSUM_HEADER).orElseThrow()),
+                        row.onColumn(CHUNK_HEADER).map(Long::parseLong).orElse(0L)
+                ));
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, Runnable task) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private Function<Path, byte[]> treeCalculator(long chunkSize, ChecksumCalculator calculator,
+                                                  ChecksumAlgorithm algorithm, ForkJoinPool treePool) {
+        TreeChecksumCalculator treeCalculator = new TreeChecksumCalculator(Map.of(algorithm, calculator), chunkSize, treePool);
+        return path -> treeCalculator.calculate(path, Set.of(algorithm)).get(algorithm);
+    }
+
+    private void verifyFile(Path file, byte[] checksum, Function<Path, byte[]> calculator, String mismatchStatus) {
+        if (!Files.exists(file)) {
+            report("MISSING", file, missing);
+            return;
+        }
+
+        try {
+            byte[] actual = calculator.apply(file);
+            if (!Arrays.equals(actual, checksum)) {
+                report(mismatchStatus, file, mismatched);
+                return;
+            }
+        } catch (RuntimeException e) {
+            report("FAILED", file, failed);
+            return;
+        }
+
+        verified.incrementAndGet();
+    }
+
+    private void report(String status, Path file, AtomicLong counter) {
+        counter.incrementAndGet();
+        synchronized (out) {
+            out.printf("%s %s%n", status, file);
+        }
+    }
+
+    private List<Path> checksumFiles(Path folder) {
+        try(Stream<Path> files = Files.list(folder)) {
+            return files.filter(ChecksumFiles::isChecksumFile)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Set<Path> filesInFolder(Path folder) {
+        try(Stream<Path> files = Files.list(folder)) {
+            Set<Path> folderFiles = new HashSet<>();
+            files.filter(file -> !Files.isDirectory(file))
+                    .filter(file -> !isManifestFile(file))
+                    .forEach(folderFiles::add);
+            return folderFiles;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Stream<Path> folders(Path folder, boolean recursive) {
+        if (!recursive) {
+            return Stream.of(folder);
+        }
+
+        try {
+            return Files.walk(folder)
+                    .filter(Files::isDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void validateParameters() {
+        if (folder == null) {
+            throw new IllegalArgumentException("Folder is not defined!");
+        }
+
+        if (!Files.isDirectory(folder)) {
+            throw new IllegalArgumentException(
+                    new FileNotFoundException(String.format("Folder %s is not found!", folder))
+            );
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException(String.format("Threads count %d must be positive!", threads));
+        }
+    }
+
+    private record ManifestEntry(Path file, byte[] checksum, long chunkSize) {}
+}
@@ -1,16 +1,25 @@
 package io.github.ilnurnasybullin.files.checksum.core;
 
 public enum ChecksumAlgorithm {
-    MD5("md5"),
-    SHA256("sha256");
+    MD5("md5", 16),
+    SHA256("sha256", 32),
+    CRC32C("crc32c", 4),
+    ADLER32("adler32", 4),
+    XXHASH64("xxhash64", 8);
 
     private final String type;
+    private final int length;
 
-    ChecksumAlgorithm(String type) {
+    ChecksumAlgorithm(String type, int length) {
         this.type = type;
+        this.length = length;
     }
 
     public String type() {
         return type;
     }
+
+    public int length() {
+        return length;
+    }
 }
@@ -1,9 +1,23 @@
 package io.github.ilnurnasybullin.files.checksum.core;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.function.Supplier;
 
 public interface ChecksumAlgorithmProvider extends ServiceLoader.Provider<ChecksumAlgorithmProvider> {
     Optional<Supplier<ChecksumCalculator>> getByChecksumAlgorithm(ChecksumAlgorithm algorithm);
+
+    static ChecksumAlgorithmProvider getInstance() {
+        List<ChecksumAlgorithmProvider> providers = ServiceLoader.load(ChecksumAlgorithmProvider.class)
+                .stream()
+                .map(ServiceLoader.Provider::get)
+                .toList();
+
+        if (providers.isEmpty()) {
+            providers = List.of(new CoreChecksumAlgorithmProvider(), new FastChecksumAlgorithmProvider());
+        }
+
+        return new CompositeChecksumAlgorithmProvider(providers);
+    }
 }
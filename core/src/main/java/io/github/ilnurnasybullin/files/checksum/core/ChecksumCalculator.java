@@ -1,9 +1,31 @@
 package io.github.ilnurnasybullin.files.checksum.core;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
 import java.util.Set;
 
 public interface ChecksumCalculator {
     byte[] calculate(InputStream stream, ChecksumAlgorithm algorithm);
     Set<ChecksumAlgorithm> supportedAlgorithms();
+
+    default ChecksumDigest digest(ChecksumAlgorithm algorithm) {
+        return new PipedChecksumDigest(this, algorithm);
+    }
+
+    default ChecksumSession session(ChecksumAlgorithm algorithm) {
+        return new ChecksumSession(Map.of(algorithm, digest(algorithm)), ChecksumFileReader.channel());
+    }
+
+    default byte[] calculate(Path file, ChecksumAlgorithm algorithm) {
+        try(InputStream stream = Files.newInputStream(file, StandardOpenOption.READ)) {
+            return calculate(stream, algorithm);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
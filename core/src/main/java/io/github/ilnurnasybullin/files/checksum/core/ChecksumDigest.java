@@ -0,0 +1,17 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.ByteBuffer;
+
+public interface ChecksumDigest {
+    void update(ByteBuffer buffer);
+    byte[] digest();
+
+    default void digest(byte[] out, int offset) {
+        byte[] digest = digest();
+        System.arraycopy(digest, 0, out, offset, digest.length);
+    }
+
+    default void reset() {
+        digest();
+    }
+}
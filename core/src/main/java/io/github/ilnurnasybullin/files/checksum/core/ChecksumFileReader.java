@@ -0,0 +1,23 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface ChecksumFileReader {
+    void read(Path file, Consumer<ByteBuffer> consumer) throws IOException;
+
+    static ChecksumFileReader channel() {
+        return FileChannelReader::read;
+    }
+
+    static ChecksumFileReader readAhead(int depth, int bufferSize) {
+        return new ReadAheadFileReader(depth, bufferSize);
+    }
+
+    static ChecksumFileReader sampled(int samples, int sampleSize) {
+        return new SampledFileReader(samples, sampleSize);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface ChecksumListener {
+
+    ChecksumListener NONE = new ChecksumListener() {};
+
+    default void phaseStarted(ChecksumPhase phase) {}
+    default void phaseFinished(ChecksumPhase phase) {}
+    default void phaseBlocked(ChecksumPhase phase, long nanos) {}
+    default void fileDiscovered(Path file, long size) {}
+    default void fileHashed(Path file, long bytes, long nanos) {}
+    default void folderWritten(Path folder, long entries, long nanos) {}
+
+    static ChecksumListener composite(ChecksumListener... listeners) {
+        List<ChecksumListener> all = List.of(listeners);
+        return new ChecksumListener() {
+            @Override
+            public void phaseStarted(ChecksumPhase phase) {
+                all.forEach(listener -> listener.phaseStarted(phase));
+            }
+
+            @Override
+            public void phaseFinished(ChecksumPhase phase) {
+                all.forEach(listener -> listener.phaseFinished(phase));
+            }
+
+            @Override
+            public void phaseBlocked(ChecksumPhase phase, long nanos) {
+                all.forEach(listener -> listener.phaseBlocked(phase, nanos));
+            }
+
+            @Override
+            public void fileDiscovered(Path file, long size) {
+                all.forEach(listener -> listener.fileDiscovered(file, size));
+            }
+
+            @Override
+            public void fileHashed(Path file, long bytes, long nanos) {
+                all.forEach(listener -> listener.fileHashed(file, bytes, nanos));
+            }
+
+            @Override
+            public void folderWritten(Path folder, long entries, long nanos) {
+                all.forEach(listener -> listener.folderWritten(folder, entries, nanos));
+            }
+        };
+    }
+}
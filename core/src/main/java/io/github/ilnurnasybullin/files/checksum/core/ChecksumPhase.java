@@ -0,0 +1,7 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+public enum ChecksumPhase {
+    WALK,
+    HASH,
+    WRITE
+}
@@ -0,0 +1,29 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+
+public record ChecksumResult(Path file, Map<ChecksumAlgorithm, byte[]> checksums, Throwable failure) {
+
+    public ChecksumResult {
+        Objects.requireNonNull(file);
+        checksums = Map.copyOf(checksums);
+    }
+
+    public static ChecksumResult of(Path file, Map<ChecksumAlgorithm, byte[]> checksums) {
+        return new ChecksumResult(file, checksums, null);
+    }
+
+    public static ChecksumResult failed(Path file, Throwable failure) {
+        return new ChecksumResult(file, Map.of(), Objects.requireNonNull(failure));
+    }
+
+    public boolean succeeded() {
+        return failure == null;
+    }
+
+    public byte[] checksum(ChecksumAlgorithm algorithm) {
+        return checksums.get(algorithm);
+    }
+}
@@ -0,0 +1,306 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ChecksumService implements AutoCloseable {
+
+    private final MultiChecksumCalculator calculator;
+    private final Executor executor;
+    private final int concurrency;
+    private final boolean ownsExecutor;
+
+    private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public ChecksumService(Map<ChecksumAlgorithm, ChecksumCalculator> calculators, int concurrency) {
+        this(new MultiChecksumCalculator(calculators), fixedThreadPool(concurrency), concurrency, true);
+    }
+
+    public ChecksumService(Map<ChecksumAlgorithm, ChecksumCalculator> calculators, Executor executor, int concurrency) {
+        this(new MultiChecksumCalculator(calculators), executor, concurrency);
+    }
+
+    public ChecksumService(MultiChecksumCalculator calculator, Executor executor, int concurrency) {
+        this(calculator, executor, concurrency, false);
+    }
+
+    private ChecksumService(MultiChecksumCalculator calculator, Executor executor, int concurrency, boolean ownsExecutor) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException(String.format("Concurrency %d must be positive!", concurrency));
+        }
+
+        this.calculator = calculator;
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public CompletableFuture<ChecksumResult> calculate(Path file, Set<ChecksumAlgorithm> algorithms) {
+        Set<ChecksumAlgorithm> fileAlgorithms = copyOf(algorithms);
+        CompletableFuture<ChecksumResult> result = new CompletableFuture<>();
+        tasks.add(new Task(file, fileAlgorithms, result));
+        drain();
+        return result;
+    }
+
+    public CompletableFuture<List<ChecksumResult>> calculate(Collection<Path> files, Set<ChecksumAlgorithm> algorithms) {
+        Set<ChecksumAlgorithm> fileAlgorithms = copyOf(algorithms);
+        List<CompletableFuture<ChecksumResult>> results = new ArrayList<>(files.size());
+        for (Path file: files) {
+            results.add(calculate(file, fileAlgorithms)
+                    .exceptionally(e -> ChecksumResult.failed(file, unwrap(e))));
+        }
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream()
+                        .map(CompletableFuture::join)
+                        .toList());
+    }
+
+    public Flow.Publisher<ChecksumResult> calculate(Flow.Publisher<Path> files, Set<ChecksumAlgorithm> algorithms) {
+        return calculate(files, algorithms, Flow.defaultBufferSize());
+    }
+
+    public Flow.Publisher<ChecksumResult> calculate(Flow.Publisher<Path> files, Set<ChecksumAlgorithm> algorithms,
+                                                    int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException(String.format("Buffer size %d must be positive!", bufferSize));
+        }
+
+        Set<ChecksumAlgorithm> fileAlgorithms = copyOf(algorithms);
+        return subscriber -> files.subscribe(new ResultSubscription(subscriber, fileAlgorithms, bufferSize));
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private void drain() {
+        while (!tasks.isEmpty()) {
+            int current = running.get();
+            if (current >= concurrency) {
+                return;
+            }
+
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            Task task = tasks.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> run(task));
+            } catch (RuntimeException e) {
+                running.decrementAndGet();
+                task.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            Map<ChecksumAlgorithm, byte[]> checksums = calculator.calculate(task.file(), task.algorithms());
+            task.result().complete(ChecksumResult.of(task.file(), checksums));
+        } catch (Throwable e) {
+            task.result().completeExceptionally(e);
+        } finally {
+            running.decrementAndGet();
+            drain();
+        }
+    }
+
+    private static Set<ChecksumAlgorithm> copyOf(Set<ChecksumAlgorithm> algorithms) {
+        if (algorithms == null || algorithms.isEmpty()) {
+            throw new IllegalArgumentException("Algorithms are not defined!");
+        }
+
+        return EnumSet.copyOf(algorithms);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static ExecutorService fixedThreadPool(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException(String.format("Concurrency %d must be positive!", concurrency));
+        }
+
+        return Executors.newFixedThreadPool(concurrency);
+    }
+
+    private record Task(Path file, Set<ChecksumAlgorithm> algorithms, CompletableFuture<ChecksumResult> result) {}
+
+    private class ResultSubscription implements Flow.Subscriber<Path>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super ChecksumResult> subscriber;
+        private final Set<ChecksumAlgorithm> algorithms;
+        private final int bufferSize;
+
+        private final Queue<ChecksumResult> results = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger deliveries = new AtomicInteger();
+
+        private Flow.Subscription subscription;
+        private volatile boolean subscribed;
+        private volatile boolean completed;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private boolean terminated;
+
+        private ResultSubscription(Flow.Subscriber<? super ChecksumResult> subscriber, Set<ChecksumAlgorithm> algorithms,
+                                   int bufferSize) {
+            this.subscriber = subscriber;
+            this.algorithms = algorithms;
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            synchronized (this) {
+                this.subscription = subscription;
+            }
+
+            subscriber.onSubscribe(this);
+            subscribed = true;
+            requestFiles(bufferSize);
+            deliver();
+        }
+
+        @Override
+        public void onNext(Path file) {
+            inFlight.incrementAndGet();
+            calculate(file, algorithms)
+                    .exceptionally(e -> ChecksumResult.failed(file, unwrap(e)))
+                    .thenAccept(result -> {
+                        results.add(result);
+                        inFlight.decrementAndGet();
+                        deliver();
+                    });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            completed = true;
+            deliver();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            deliver();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n < 1) {
+                failure = new IllegalArgumentException(String.format("Requested count %d must be positive!", n));
+                completed = true;
+                cancelFiles();
+                deliver();
+                return;
+            }
+
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            deliver();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelFiles();
+            deliver();
+        }
+
+        private void deliver() {
+            if (deliveries.getAndIncrement() != 0) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                cancelled = true;
+                cancelFiles();
+                subscriber.onError(e);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    results.clear();
+                } else if (subscribed && !terminated) {
+                    emit();
+                }
+
+                missed = deliveries.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long delivered = 0;
+            while (!cancelled && demand.get() > 0) {
+                ChecksumResult result = results.poll();
+                if (result == null) {
+                    break;
+                }
+
+                demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                subscriber.onNext(result);
+                delivered++;
+            }
+
+            if (delivered > 0 && !completed) {
+                requestFiles(delivered);
+            }
+
+            if (!cancelled && completed && inFlight.get() == 0 && results.isEmpty()) {
+                terminated = true;
+                if (failure != null) {
+                    subscriber.onError(failure);
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+        }
+
+        private synchronized void requestFiles(long n) {
+            if (!cancelled) {
+                subscription.request(n);
+            }
+        }
+
+        private synchronized void cancelFiles() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class ChecksumSession {
+
+    private final Set<ChecksumAlgorithm> algorithms;
+    private final ChecksumFileReader reader;
+    private final ChecksumDigest[] digests;
+    private final int[] lengths;
+    private final int length;
+    private final Consumer<ByteBuffer> updater = this::update;
+
+    private long bytes;
+
+    ChecksumSession(Map<ChecksumAlgorithm, ChecksumDigest> digests, ChecksumFileReader reader) {
+        Map<ChecksumAlgorithm, ChecksumDigest> orderedDigests = new EnumMap<>(digests);
+        this.algorithms = Set.copyOf(orderedDigests.keySet());
+        this.digests = orderedDigests.values().toArray(ChecksumDigest[]::new);
+        this.lengths = orderedDigests.keySet()
+                .stream()
+                .mapToInt(ChecksumAlgorithm::length)
+                .toArray();
+        this.length = Arrays.stream(lengths).sum();
+        this.reader = reader;
+    }
+
+    public Set<ChecksumAlgorithm> algorithms() {
+        return algorithms;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long calculate(Path file, byte[] out, int offset) {
+        if (offset < 0 || out.length - offset < length) {
+            throw new IllegalArgumentException(String.format("Output buffer must have at least %d bytes from offset %d!",
+                    length, offset));
+        }
+
+        bytes = 0;
+        try {
+            reader.read(file, updater);
+        } catch (IOException e) {
+            reset();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            reset();
+            throw e;
+        }
+
+        for (int i = 0; i < digests.length; i++) {
+            digests[i].digest(out, offset);
+            offset += lengths[i];
+        }
+
+        return bytes;
+    }
+
+    private void update(ByteBuffer buffer) {
+        bytes += buffer.remaining();
+        int position = buffer.position();
+        for (ChecksumDigest digest: digests) {
+            buffer.position(position);
+            digest.update(buffer);
+        }
+    }
+
+    private void reset() {
+        for (ChecksumDigest digest: digests) {
+            digest.reset();
+        }
+    }
+}
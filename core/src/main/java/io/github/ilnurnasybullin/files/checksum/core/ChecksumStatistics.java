@@ -0,0 +1,159 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ChecksumStatistics implements ChecksumListener {
+
+    private final long startNanos = System.nanoTime();
+
+    private final Map<ChecksumPhase, Long> phaseStarts = new ConcurrentHashMap<>();
+    private final Map<ChecksumPhase, Long> phaseEnds = new ConcurrentHashMap<>();
+    private final Map<ChecksumPhase, LongAdder> phaseBlocked = new ConcurrentHashMap<>();
+
+    private final LongAdder discoveredFiles = new LongAdder();
+    private final LongAdder discoveredBytes = new LongAdder();
+    private final LongAdder hashedFiles = new LongAdder();
+    private final LongAdder hashedBytes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder writtenFolders = new LongAdder();
+    private final LongAdder writtenEntries = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LatencyHistogram hashLatency = new LatencyHistogram();
+
+    @Override
+    public void phaseStarted(ChecksumPhase phase) {
+        phaseStarts.putIfAbsent(phase, System.nanoTime());
+    }
+
+    @Override
+    public void phaseFinished(ChecksumPhase phase) {
+        phaseEnds.put(phase, System.nanoTime());
+    }
+
+    @Override
+    public void phaseBlocked(ChecksumPhase phase, long nanos) {
+        phaseBlocked.computeIfAbsent(phase, key -> new LongAdder()).add(nanos);
+    }
+
+    @Override
+    public void fileDiscovered(Path file, long size) {
+        discoveredFiles.increment();
+        discoveredBytes.add(size);
+    }
+
+    @Override
+    public void fileHashed(Path file, long bytes, long nanos) {
+        hashedFiles.increment();
+        hashedBytes.add(bytes);
+        hashNanos.add(nanos);
+        hashLatency.record(nanos);
+    }
+
+    @Override
+    public void folderWritten(Path folder, long entries, long nanos) {
+        writtenFolders.increment();
+        writtenEntries.add(entries);
+        writeNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long now = System.nanoTime();
+        Map<ChecksumPhase, Long> phaseNanos = new EnumMap<>(ChecksumPhase.class);
+        phaseStarts.forEach((phase, start) -> phaseNanos.put(phase, phaseEnds.getOrDefault(phase, now) - start));
+        Map<ChecksumPhase, Long> phaseBlockedNanos = new EnumMap<>(ChecksumPhase.class);
+        phaseBlocked.forEach((phase, nanos) -> phaseBlockedNanos.put(phase, nanos.sum()));
+
+        return new Snapshot(
+                now - startNanos,
+                phaseNanos,
+                phaseBlockedNanos,
+                discoveredFiles.sum(),
+                discoveredBytes.sum(),
+                hashedFiles.sum(),
+                hashedBytes.sum(),
+                hashNanos.sum(),
+                writtenFolders.sum(),
+                writtenEntries.sum(),
+                writeNanos.sum(),
+                hashLatency.percentile(50),
+                hashLatency.percentile(90),
+                hashLatency.percentile(99),
+                hashLatency.max()
+        );
+    }
+
+    public record Snapshot(long elapsedNanos, Map<ChecksumPhase, Long> phaseNanos,
+                           Map<ChecksumPhase, Long> phaseBlockedNanos,
+                           long discoveredFiles, long discoveredBytes,
+                           long hashedFiles, long hashedBytes, long hashBusyNanos,
+                           long writtenFolders, long writtenEntries, long writeBusyNanos,
+                           long hashLatencyP50Nanos, long hashLatencyP90Nanos,
+                           long hashLatencyP99Nanos, long hashLatencyMaxNanos) {
+
+        public double filesPerSecond() {
+            return perSecond(hashedFiles);
+        }
+
+        public double bytesPerSecond() {
+            return perSecond(hashedBytes);
+        }
+
+        public String toJson() {
+            StringBuilder json = new StringBuilder("{");
+            json.append(String.format("\"elapsedMs\":%d", millis(elapsedNanos)));
+            phaseNanos.forEach((phase, nanos) ->
+                    json.append(String.format(",\"%sMs\":%d", phase.name().toLowerCase(), millis(nanos))));
+            phaseBlockedNanos.forEach((phase, nanos) ->
+                    json.append(String.format(",\"%sBlockedMs\":%d", phase.name().toLowerCase(), millis(nanos))));
+            json.append(String.format(",\"discoveredFiles\":%d,\"discoveredBytes\":%d", discoveredFiles, discoveredBytes));
+            json.append(String.format(",\"hashedFiles\":%d,\"hashedBytes\":%d,\"hashBusyMs\":%d",
+                    hashedFiles, hashedBytes, millis(hashBusyNanos)));
+            json.append(String.format(",\"writtenFolders\":%d,\"writtenEntries\":%d,\"writeBusyMs\":%d",
+                    writtenFolders, writtenEntries, millis(writeBusyNanos)));
+            json.append(String.format(",\"filesPerSec\":%.1f,\"bytesPerSec\":%.1f", filesPerSecond(), bytesPerSecond()));
+            json.append(String.format(",\"hashLatencyUs\":{\"p50\":%d,\"p90\":%d,\"p99\":%d,\"max\":%d}",
+                    micros(hashLatencyP50Nanos), micros(hashLatencyP90Nanos),
+                    micros(hashLatencyP99Nanos), micros(hashLatencyMaxNanos)));
+            return json.append('}').toString();
+        }
+
+        public String toSummary() {
+            StringBuilder summary = new StringBuilder();
+            summary.append(String.format("Elapsed: %d ms%n", millis(elapsedNanos)));
+            phaseNanos.forEach((phase, nanos) -> {
+                summary.append(String.format("  %-5s phase: %d ms wall", phase.name().toLowerCase(), millis(nanos)));
+                Long blockedNanos = phaseBlockedNanos.get(phase);
+                if (blockedNanos != null) {
+                    summary.append(String.format(", %d ms blocked on hashing", millis(blockedNanos)));
+                }
+                summary.append(String.format("%n"));
+            });
+            summary.append(String.format("Discovered: %d files, %d bytes%n", discoveredFiles, discoveredBytes));
+            summary.append(String.format("Hashed: %d files, %d bytes (%.1f files/s, %.1f MB/s), busy %d ms%n",
+                    hashedFiles, hashedBytes, filesPerSecond(), bytesPerSecond() / (1024 * 1024), millis(hashBusyNanos)));
+            summary.append(String.format("Written: %d manifests, %d entries, busy %d ms%n",
+                    writtenFolders, writtenEntries, millis(writeBusyNanos)));
+            summary.append(String.format("Hash latency: p50 %d us, p90 %d us, p99 %d us, max %d us",
+                    micros(hashLatencyP50Nanos), micros(hashLatencyP90Nanos),
+                    micros(hashLatencyP99Nanos), micros(hashLatencyMaxNanos)));
+            return summary.toString();
+        }
+
+        private double perSecond(long value) {
+            return elapsedNanos == 0 ? 0 : value * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        private static long millis(long nanos) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        private static long micros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+class CompositeChecksumAlgorithmProvider implements ChecksumAlgorithmProvider {
+
+    private final List<ChecksumAlgorithmProvider> providers;
+
+    CompositeChecksumAlgorithmProvider(List<ChecksumAlgorithmProvider> providers) {
+        this.providers = List.copyOf(providers);
+    }
+
+    @Override
+    public Optional<Supplier<ChecksumCalculator>> getByChecksumAlgorithm(ChecksumAlgorithm algorithm) {
+        return providers.stream()
+                .map(provider -> provider.getByChecksumAlgorithm(algorithm))
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    @Override
+    public Class<? extends ChecksumAlgorithmProvider> type() {
+        return CompositeChecksumAlgorithmProvider.class;
+    }
+
+    @Override
+    public ChecksumAlgorithmProvider get() {
+        return this;
+    }
+}
@@ -4,10 +4,13 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 public class CoreChecksumAlgorithmProvider implements ChecksumAlgorithmProvider {
+
+    private final static ChecksumCalculator CALCULATOR = new MessageDigestCalculator();
+
     @Override
     public Optional<Supplier<ChecksumCalculator>> getByChecksumAlgorithm(ChecksumAlgorithm algorithm) {
         if (MessageDigestCalculator.algorithms().contains(algorithm)) {
-            return Optional.of(MessageDigestCalculator::new);
+            return Optional.of(() -> CALCULATOR);
         }
 
         return Optional.empty();
@@ -0,0 +1,28 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class FastChecksumAlgorithmProvider implements ChecksumAlgorithmProvider {
+
+    private final static ChecksumCalculator CALCULATOR = new FastChecksumCalculator();
+
+    @Override
+    public Optional<Supplier<ChecksumCalculator>> getByChecksumAlgorithm(ChecksumAlgorithm algorithm) {
+        if (FastChecksumCalculator.algorithms().contains(algorithm)) {
+            return Optional.of(() -> CALCULATOR);
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Class<? extends ChecksumAlgorithmProvider> type() {
+        return FastChecksumAlgorithmProvider.class;
+    }
+
+    @Override
+    public ChecksumAlgorithmProvider get() {
+        return this;
+    }
+}
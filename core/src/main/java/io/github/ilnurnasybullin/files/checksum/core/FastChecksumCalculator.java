@@ -0,0 +1,102 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+class FastChecksumCalculator implements ChecksumCalculator {
+
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final static ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    @Override
+    public byte[] calculate(InputStream stream, ChecksumAlgorithm algorithm) {
+        ChecksumDigest digest = digest(algorithm);
+        byte[] buffer = BUFFERS.get();
+        try(stream) {
+            int count;
+            while ((count = stream.read(buffer)) != -1) {
+                digest.update(ByteBuffer.wrap(buffer, 0, count));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return digest.digest();
+    }
+
+    @Override
+    public byte[] calculate(Path file, ChecksumAlgorithm algorithm) {
+        ChecksumDigest digest = digest(algorithm);
+        try {
+            FileChannelReader.read(file, digest::update);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return digest.digest();
+    }
+
+    @Override
+    public ChecksumDigest digest(ChecksumAlgorithm algorithm) {
+        return switch (algorithm) {
+            case CRC32C -> new ZipChecksumDigest(CRC32C::new);
+            case ADLER32 -> new ZipChecksumDigest(Adler32::new);
+            case XXHASH64 -> new XxHash64();
+            default -> throw new IllegalArgumentException(String.format("Algorithm %s is not supported!", algorithm));
+        };
+    }
+
+    @Override
+    public Set<ChecksumAlgorithm> supportedAlgorithms() {
+        return algorithms();
+    }
+
+    static Set<ChecksumAlgorithm> algorithms() {
+        return Set.of(ChecksumAlgorithm.CRC32C, ChecksumAlgorithm.ADLER32, ChecksumAlgorithm.XXHASH64);
+    }
+
+    private static class ZipChecksumDigest implements ChecksumDigest {
+
+        private final Checksum checksum;
+
+        private ZipChecksumDigest(Supplier<Checksum> checksum) {
+            this.checksum = checksum.get();
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            checksum.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            byte[] out = new byte[Integer.BYTES];
+            digest(out, 0);
+            return out;
+        }
+
+        @Override
+        public void digest(byte[] out, int offset) {
+            int value = (int) checksum.getValue();
+            checksum.reset();
+            out[offset] = (byte) (value >>> 24);
+            out[offset + 1] = (byte) (value >>> 16);
+            out[offset + 2] = (byte) (value >>> 8);
+            out[offset + 3] = (byte) value;
+        }
+
+        @Override
+        public void reset() {
+            checksum.reset();
+        }
+    }
+}
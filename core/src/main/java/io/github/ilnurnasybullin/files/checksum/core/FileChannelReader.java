@@ -0,0 +1,85 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+class FileChannelReader {
+
+    private final static long MAPPING_THRESHOLD = 16L * 1024 * 1024;
+    private final static long MAPPING_REGION_SIZE = 256L * 1024 * 1024;
+    private final static int BUFFER_SIZE = 1024 * 1024;
+
+    private final static ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private FileChannelReader() {}
+
+    static void read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAPPING_THRESHOLD) {
+                readMapped(channel, size, consumer);
+            } else if (size <= BUFFER_SIZE) {
+                readSmall(channel, size, consumer);
+            } else {
+                readBuffered(channel, consumer);
+            }
+        }
+    }
+
+    static void read(FileChannel channel, long position, long length, Consumer<ByteBuffer> consumer) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        long end = position + length;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int count = channel.read(buffer, position);
+            if (count == -1) {
+                break;
+            }
+
+            position += count;
+            buffer.flip();
+            consumer.accept(buffer);
+        }
+    }
+
+    private static void readMapped(FileChannel channel, long size, Consumer<ByteBuffer> consumer) throws IOException {
+        for (long position = 0; position < size; position += MAPPING_REGION_SIZE) {
+            long regionSize = Math.min(MAPPING_REGION_SIZE, size - position);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+            consumer.accept(region);
+        }
+    }
+
+    private static void readSmall(FileChannel channel, long size, Consumer<ByteBuffer> consumer) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        int count = channel.read(buffer, 0);
+        if (count == -1) {
+            return;
+        }
+
+        buffer.flip();
+        consumer.accept(buffer);
+        if (count != size) {
+            channel.position(count);
+            readBuffered(channel, consumer);
+        }
+    }
+
+    private static void readBuffered(FileChannel channel, Consumer<ByteBuffer> consumer) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            consumer.accept(buffer);
+            buffer.clear();
+        }
+    }
+}
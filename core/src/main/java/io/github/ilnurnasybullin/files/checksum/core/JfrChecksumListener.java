@@ -0,0 +1,114 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.nio.file.Path;
+
+public class JfrChecksumListener implements ChecksumListener {
+
+    @Override
+    public void phaseStarted(ChecksumPhase phase) {
+        if (!FlightRecorder.isInitialized()) {
+            return;
+        }
+
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase.name();
+            event.started = true;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void phaseFinished(ChecksumPhase phase) {
+        if (!FlightRecorder.isInitialized()) {
+            return;
+        }
+
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase.name();
+            event.started = false;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void fileHashed(Path file, long bytes, long nanos) {
+        if (!FlightRecorder.isInitialized()) {
+            return;
+        }
+
+        FileHashedEvent event = new FileHashedEvent();
+        if (event.isEnabled()) {
+            event.file = file.toString();
+            event.bytes = bytes;
+            event.hashTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void folderWritten(Path folder, long entries, long nanos) {
+        if (!FlightRecorder.isInitialized()) {
+            return;
+        }
+
+        FolderWrittenEvent event = new FolderWrittenEvent();
+        if (event.isEnabled()) {
+            event.folder = folder.toString();
+            event.entries = entries;
+            event.writeTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Name("io.github.ilnurnasybullin.files.checksum.Phase")
+    @Label("Checksum Phase")
+    @Category("Files Checksum")
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Started")
+        boolean started;
+    }
+
+    @Name("io.github.ilnurnasybullin.files.checksum.FileHashed")
+    @Label("File Hashed")
+    @Category("Files Checksum")
+    static class FileHashedEvent extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Hash Time")
+        @Timespan
+        long hashTime;
+    }
+
+    @Name("io.github.ilnurnasybullin.files.checksum.FolderWritten")
+    @Label("Folder Written")
+    @Category("Files Checksum")
+    static class FolderWrittenEvent extends Event {
+        @Label("Folder")
+        String folder;
+
+        @Label("Entries")
+        long entries;
+
+        @Label("Write Time")
+        @Timespan
+        long writeTime;
+    }
+}
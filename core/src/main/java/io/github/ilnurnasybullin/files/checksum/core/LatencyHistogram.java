@@ -0,0 +1,59 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+    private final static int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 1);
+        buckets.incrementAndGet(BUCKETS - 1 - Long.numberOfLeadingZeros(value));
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+
+        return count;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+
+        return max();
+    }
+
+    private long upperBound(int bucket) {
+        return bucket >= BUCKETS - 2 ? Long.MAX_VALUE : (2L << bucket) - 1;
+    }
+}
@@ -2,29 +2,61 @@ package io.github.ilnurnasybullin.files.checksum.core;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.DigestInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Set;
 
 class MessageDigestCalculator implements ChecksumCalculator {
 
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final static ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final Map<ChecksumAlgorithm, MessageDigest> prototypes = new EnumMap<>(ChecksumAlgorithm.class);
+
+    MessageDigestCalculator() {
+        for (ChecksumAlgorithm algorithm: algorithms()) {
+            prototypes.put(algorithm, messageDigest(algorithm));
+        }
+    }
+
     @Override
     public byte[] calculate(InputStream stream, ChecksumAlgorithm algorithm) {
-        byte[] buffer = new byte[1024];
-
-        byte[] bytes;
-        try {
-            MessageDigest messageDigest = MessageDigest.getInstance(algorithm.type());
-            try(DigestInputStream inputStream = new DigestInputStream(stream, messageDigest)) {
-                while (inputStream.read(buffer) != -1) {}
+        MessageDigest messageDigest = newMessageDigest(algorithm);
+        byte[] buffer = BUFFERS.get();
+        try(stream) {
+            int count;
+            while ((count = stream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, count);
             }
-            bytes = messageDigest.digest();
-        } catch (NoSuchAlgorithmException | IOException e) {
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
-        return bytes;
+        return messageDigest.digest();
+    }
+
+    @Override
+    public byte[] calculate(Path file, ChecksumAlgorithm algorithm) {
+        ChecksumDigest digest = digest(algorithm);
+        try {
+            FileChannelReader.read(file, digest::update);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return digest.digest();
+    }
+
+    @Override
+    public ChecksumDigest digest(ChecksumAlgorithm algorithm) {
+        return new Digest(newMessageDigest(algorithm));
     }
 
     @Override
@@ -33,6 +65,61 @@ class MessageDigestCalculator implements ChecksumCalculator {
     }
 
     static Set<ChecksumAlgorithm> algorithms() {
-        return Set.of(ChecksumAlgorithm.values());
+        return Set.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA256);
+    }
+
+    private MessageDigest newMessageDigest(ChecksumAlgorithm algorithm) {
+        MessageDigest prototype = prototypes.get(algorithm);
+        if (prototype == null) {
+            return messageDigest(algorithm);
+        }
+
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return messageDigest(algorithm);
+        }
+    }
+
+    private MessageDigest messageDigest(ChecksumAlgorithm algorithm) {
+        try {
+            return MessageDigest.getInstance(messageDigestName(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String messageDigestName(ChecksumAlgorithm algorithm) {
+        return switch (algorithm) {
+            case MD5 -> "MD5";
+            case SHA256 -> "SHA-256";
+            default -> throw new IllegalArgumentException(String.format("Algorithm %s is not a message digest!", algorithm));
+        };
+    }
+
+    private record Digest(MessageDigest messageDigest) implements ChecksumDigest {
+        @Override
+        public void update(ByteBuffer buffer) {
+            messageDigest.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return messageDigest.digest();
+        }
+
+        @Override
+        public void digest(byte[] out, int offset) {
+            try {
+                messageDigest.digest(out, offset, messageDigest.getDigestLength());
+            } catch (DigestException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void reset() {
+            messageDigest.reset();
+        }
     }
 }
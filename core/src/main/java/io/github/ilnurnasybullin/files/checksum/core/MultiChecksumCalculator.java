@@ -0,0 +1,83 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class MultiChecksumCalculator {
+
+    private final Map<ChecksumAlgorithm, ChecksumCalculator> calculators;
+    private final ChecksumListener listener;
+    private final ChecksumFileReader reader;
+    private final ThreadLocal<Map<Set<ChecksumAlgorithm>, ChecksumSession>> sessions =
+            ThreadLocal.withInitial(HashMap::new);
+
+    public MultiChecksumCalculator(Map<ChecksumAlgorithm, ChecksumCalculator> calculators) {
+        this(calculators, ChecksumListener.NONE);
+    }
+
+    public MultiChecksumCalculator(Map<ChecksumAlgorithm, ChecksumCalculator> calculators, ChecksumListener listener) {
+        this(calculators, listener, ChecksumFileReader.channel());
+    }
+
+    public MultiChecksumCalculator(Map<ChecksumAlgorithm, ChecksumCalculator> calculators, ChecksumListener listener,
+                                   ChecksumFileReader reader) {
+        this.calculators = Map.copyOf(calculators);
+        this.listener = listener;
+        this.reader = reader;
+    }
+
+    public ChecksumSession session(Set<ChecksumAlgorithm> algorithms) {
+        Map<ChecksumAlgorithm, ChecksumDigest> digests = new EnumMap<>(ChecksumAlgorithm.class);
+        for (ChecksumAlgorithm algorithm: algorithms) {
+            digests.put(algorithm, calculator(algorithm).digest(algorithm));
+        }
+
+        return new ChecksumSession(digests, reader);
+    }
+
+    public Map<ChecksumAlgorithm, byte[]> calculate(Path file, Set<ChecksumAlgorithm> algorithms) {
+        ChecksumSession session = sessions.get().get(algorithms);
+        if (session == null) {
+            session = session(algorithms);
+            sessions.get().put(session.algorithms(), session);
+        }
+
+        byte[] out = new byte[session.length()];
+        long start = System.nanoTime();
+        long bytes = session.calculate(file, out, 0);
+
+        Map<ChecksumAlgorithm, byte[]> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+        int offset = 0;
+        for (ChecksumAlgorithm algorithm: ChecksumAlgorithm.values()) {
+            if (session.algorithms().contains(algorithm)) {
+                checksums.put(algorithm, Arrays.copyOfRange(out, offset, offset + algorithm.length()));
+                offset += algorithm.length();
+            }
+        }
+
+        listener.fileHashed(file, bytes, System.nanoTime() - start);
+        return checksums;
+    }
+
+    static void update(Iterable<ChecksumDigest> digests, ByteBuffer buffer) {
+        int position = buffer.position();
+        for (ChecksumDigest digest: digests) {
+            buffer.position(position);
+            digest.update(buffer);
+        }
+    }
+
+    private ChecksumCalculator calculator(ChecksumAlgorithm algorithm) {
+        ChecksumCalculator calculator = calculators.get(algorithm);
+        if (calculator == null) {
+            throw new IllegalArgumentException(String.format("Calculator for algorithm %s is not defined!", algorithm));
+        }
+
+        return calculator;
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class PipedChecksumDigest implements ChecksumDigest {
+
+    private final static int PIPE_SIZE = 64 * 1024;
+
+    private final static ExecutorService READERS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "checksum-digest-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ChecksumCalculator calculator;
+    private final ChecksumAlgorithm algorithm;
+    private final byte[] chunk = new byte[PIPE_SIZE];
+
+    private PipedOutputStream output;
+    private CompletableFuture<byte[]> result;
+
+    PipedChecksumDigest(ChecksumCalculator calculator, ChecksumAlgorithm algorithm) {
+        this.calculator = calculator;
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        if (output == null) {
+            start();
+        }
+
+        try {
+            if (buffer.hasArray()) {
+                output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+                return;
+            }
+
+            while (buffer.hasRemaining()) {
+                int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                output.write(chunk, 0, length);
+            }
+        } catch (IOException e) {
+            if (result.isCompletedExceptionally()) {
+                await();
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] digest() {
+        if (output == null) {
+            start();
+        }
+
+        try {
+            output.close();
+            return await();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            output = null;
+            result = null;
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.close();
+            result.exceptionally(e -> null).join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            output = null;
+            result = null;
+        }
+    }
+
+    private void start() {
+        PipedInputStream input = new PipedInputStream(PIPE_SIZE);
+        try {
+            output = new PipedOutputStream(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        result = CompletableFuture.supplyAsync(() -> {
+            try(input) {
+                return calculator.calculate(input, algorithm);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, READERS);
+    }
+
+    private byte[] await() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
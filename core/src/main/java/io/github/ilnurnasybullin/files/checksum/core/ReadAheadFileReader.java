@@ -0,0 +1,131 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+class ReadAheadFileReader implements ChecksumFileReader {
+
+    private final int depth;
+    private final int bufferSize;
+    private final ThreadLocal<ByteBuffer[]> buffers;
+
+    ReadAheadFileReader(int depth, int bufferSize) {
+        if (depth < 1) {
+            throw new IllegalArgumentException(String.format("Read-ahead depth %d must be positive!", depth));
+        }
+
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException(String.format("Buffer size %d must be positive!", bufferSize));
+        }
+
+        this.depth = depth;
+        this.bufferSize = bufferSize;
+        this.buffers = ThreadLocal.withInitial(this::allocateBuffers);
+    }
+
+    @Override
+    public void read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        ByteBuffer[] buffers = this.buffers.get();
+        List<Future<Integer>> reads = new ArrayList<>(Collections.nCopies(depth, null));
+        long[] positions = new long[depth];
+
+        try(AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long next = 0;
+            try {
+                for (int i = 0; i < depth && next < size; i++) {
+                    positions[i] = next;
+                    reads.set(i, submit(channel, buffers[i], next, size));
+                    next += buffers[i].limit();
+                }
+
+                int index = 0;
+                while (reads.get(index) != null) {
+                    ByteBuffer buffer = buffers[index];
+                    boolean completed = complete(channel, buffer, positions[index], reads.get(index));
+                    reads.set(index, null);
+                    consumer.accept(buffer);
+
+                    if (!completed) {
+                        break;
+                    }
+
+                    if (next < size) {
+                        positions[index] = next;
+                        reads.set(index, submit(channel, buffer, next, size));
+                        next += buffer.limit();
+                    }
+
+                    index = (index + 1) % depth;
+                }
+            } finally {
+                awaitPending(reads);
+            }
+        }
+    }
+
+    private Future<Integer> submit(AsynchronousFileChannel channel, ByteBuffer buffer, long position, long size) {
+        buffer.clear();
+        buffer.limit((int) Math.min(bufferSize, size - position));
+        return channel.read(buffer, position);
+    }
+
+    private boolean complete(AsynchronousFileChannel channel, ByteBuffer buffer, long position,
+                             Future<Integer> read) throws IOException {
+        int count = await(read);
+        while (count != -1 && buffer.hasRemaining()) {
+            count = await(channel.read(buffer, position + buffer.position()));
+        }
+
+        buffer.flip();
+        return count != -1;
+    }
+
+    private void awaitPending(List<Future<Integer>> reads) {
+        for (Future<Integer> read: reads) {
+            if (read == null) {
+                continue;
+            }
+
+            try {
+                await(read);
+            } catch (IOException e) {
+                continue;
+            }
+        }
+    }
+
+    private static int await(Future<Integer> read) throws IOException {
+        try {
+            return read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException exception) {
+                throw exception;
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private ByteBuffer[] allocateBuffers() {
+        ByteBuffer[] buffers = new ByteBuffer[depth];
+        for (int i = 0; i < depth; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        return buffers;
+    }
+}
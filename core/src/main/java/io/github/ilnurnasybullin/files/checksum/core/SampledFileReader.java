@@ -0,0 +1,50 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+class SampledFileReader implements ChecksumFileReader {
+
+    private final int samples;
+    private final int sampleSize;
+    private final ThreadLocal<ByteBuffer> sizeBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(Long.BYTES));
+
+    SampledFileReader(int samples, int sampleSize) {
+        if (samples < 0) {
+            throw new IllegalArgumentException(String.format("Samples count %d must not be negative!", samples));
+        }
+
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException(String.format("Sample size %d must be positive!", sampleSize));
+        }
+
+        this.samples = samples;
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public void read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer sizeBuffer = sizeBuffers.get();
+            sizeBuffer.clear();
+            sizeBuffer.putLong(size).flip();
+            consumer.accept(sizeBuffer);
+
+            if (size <= (samples + 2L) * sampleSize) {
+                FileChannelReader.read(channel, 0, size, consumer);
+                return;
+            }
+
+            long step = (size - sampleSize) / (samples + 1);
+            for (int i = 0; i <= samples; i++) {
+                FileChannelReader.read(channel, step * i, sampleSize, consumer);
+            }
+            FileChannelReader.read(channel, size - sampleSize, sampleSize, consumer);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class TreeChecksumCalculator {
+
+    private final static byte LEAF_PREFIX = 0;
+    private final static byte NODE_PREFIX = 1;
+
+    private final Map<ChecksumAlgorithm, ChecksumCalculator> calculators;
+    private final long chunkSize;
+    private final ForkJoinPool pool;
+    private final ChecksumListener listener;
+
+    public TreeChecksumCalculator(Map<ChecksumAlgorithm, ChecksumCalculator> calculators, long chunkSize, ForkJoinPool pool) {
+        this(calculators, chunkSize, pool, ChecksumListener.NONE);
+    }
+
+    public TreeChecksumCalculator(Map<ChecksumAlgorithm, ChecksumCalculator> calculators, long chunkSize,
+                                  ForkJoinPool pool, ChecksumListener listener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format("Chunk size %d must be positive!", chunkSize));
+        }
+
+        this.calculators = Map.copyOf(calculators);
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.listener = listener;
+    }
+
+    public long chunkSize() {
+        return chunkSize;
+    }
+
+    public Map<ChecksumAlgorithm, byte[]> calculate(Path file, Set<ChecksumAlgorithm> algorithms) {
+        long start = System.nanoTime();
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunks = Math.max(1, (size + chunkSize - 1) / chunkSize);
+            Map<ChecksumAlgorithm, byte[]> checksums = pool.invoke(new TreeTask(channel, size, algorithms, 0, chunks));
+            listener.fileHashed(file, size, System.nanoTime() - start);
+            return checksums;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<ChecksumAlgorithm, ChecksumDigest> digests(Set<ChecksumAlgorithm> algorithms, byte prefix) {
+        Map<ChecksumAlgorithm, ChecksumDigest> digests = new EnumMap<>(ChecksumAlgorithm.class);
+        for (ChecksumAlgorithm algorithm: algorithms) {
+            ChecksumCalculator calculator = calculators.get(algorithm);
+            if (calculator == null) {
+                throw new IllegalArgumentException(String.format("Calculator for algorithm %s is not defined!", algorithm));
+            }
+
+            ChecksumDigest digest = calculator.digest(algorithm);
+            digest.update(ByteBuffer.wrap(new byte[]{prefix}));
+            digests.put(algorithm, digest);
+        }
+
+        return digests;
+    }
+
+    private static Map<ChecksumAlgorithm, byte[]> digest(Map<ChecksumAlgorithm, ChecksumDigest> digests) {
+        Map<ChecksumAlgorithm, byte[]> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+        digests.forEach((algorithm, digest) -> checksums.put(algorithm, digest.digest()));
+        return checksums;
+    }
+
+    private class TreeTask extends RecursiveTask<Map<ChecksumAlgorithm, byte[]>> {
+
+        private final FileChannel channel;
+        private final long size;
+        private final Set<ChecksumAlgorithm> algorithms;
+        private final long fromChunk;
+        private final long toChunk;
+
+        private TreeTask(FileChannel channel, long size, Set<ChecksumAlgorithm> algorithms, long fromChunk, long toChunk) {
+            this.channel = channel;
+            this.size = size;
+            this.algorithms = algorithms;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected Map<ChecksumAlgorithm, byte[]> compute() {
+            long chunks = toChunk - fromChunk;
+            if (chunks == 1) {
+                return leaf();
+            }
+
+            long split = fromChunk + Long.highestOneBit(chunks - 1);
+            TreeTask left = new TreeTask(channel, size, algorithms, fromChunk, split);
+            TreeTask right = new TreeTask(channel, size, algorithms, split, toChunk);
+            left.fork();
+            Map<ChecksumAlgorithm, byte[]> rightChecksums = right.compute();
+            Map<ChecksumAlgorithm, byte[]> leftChecksums = left.join();
+
+            Map<ChecksumAlgorithm, ChecksumDigest> digests = digests(algorithms, NODE_PREFIX);
+            digests.forEach((algorithm, digest) -> {
+                digest.update(ByteBuffer.wrap(leftChecksums.get(algorithm)));
+                digest.update(ByteBuffer.wrap(rightChecksums.get(algorithm)));
+            });
+
+            return digest(digests);
+        }
+
+        private Map<ChecksumAlgorithm, byte[]> leaf() {
+            Map<ChecksumAlgorithm, ChecksumDigest> digests = digests(algorithms, LEAF_PREFIX);
+            long position = fromChunk * chunkSize;
+            long length = Math.min(chunkSize, size - position);
+            try {
+                FileChannelReader.read(channel, position, length,
+                        buffer -> MultiChecksumCalculator.update(digests.values(), buffer));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return digest(digests);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.ilnurnasybullin.files.checksum.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+class XxHash64 implements ChecksumDigest {
+
+    private final static long PRIME_1 = 0x9E3779B185EBCA87L;
+    private final static long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private final static long PRIME_3 = 0x165667B19E3779F9L;
+    private final static long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private final static long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private final static int STRIPE_SIZE = 32;
+
+    private final long seed;
+    private final ByteBuffer stripe = ByteBuffer.allocate(STRIPE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+    private long length;
+
+    XxHash64() {
+        this(0);
+    }
+
+    XxHash64(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        ByteBuffer input = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        length += input.remaining();
+        buffer.position(buffer.limit());
+
+        if (stripe.position() > 0) {
+            while (stripe.hasRemaining() && input.hasRemaining()) {
+                stripe.put(input.get());
+            }
+
+            if (stripe.hasRemaining()) {
+                return;
+            }
+
+            stripe.flip();
+            consumeStripe(stripe);
+            stripe.clear();
+        }
+
+        while (input.remaining() >= STRIPE_SIZE) {
+            consumeStripe(input);
+        }
+
+        stripe.put(input);
+    }
+
+    @Override
+    public byte[] digest() {
+        return ByteBuffer.allocate(Long.BYTES).putLong(hash()).array();
+    }
+
+    @Override
+    public void digest(byte[] out, int offset) {
+        long hash = hash();
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            out[offset + i] = (byte) hash;
+            hash >>>= Byte.SIZE;
+        }
+    }
+
+    @Override
+    public void reset() {
+        v1 = seed + PRIME_1 + PRIME_2;
+        v2 = seed + PRIME_2;
+        v3 = seed;
+        v4 = seed - PRIME_1;
+        length = 0;
+        stripe.clear();
+    }
+
+    private long hash() {
+        long hash;
+        if (length >= STRIPE_SIZE) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME_5;
+        }
+
+        hash += length;
+
+        stripe.flip();
+        while (stripe.remaining() >= Long.BYTES) {
+            hash ^= round(0, stripe.getLong());
+            hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+        }
+
+        if (stripe.remaining() >= Integer.BYTES) {
+            hash ^= (stripe.getInt() & 0xFFFFFFFFL) * PRIME_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME_2 + PRIME_3;
+        }
+
+        while (stripe.hasRemaining()) {
+            hash ^= (stripe.get() & 0xFFL) * PRIME_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME_1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        hash ^= hash >>> 32;
+
+        reset();
+        return hash;
+    }
+
+    private void consumeStripe(ByteBuffer input) {
+        v1 = round(v1, input.getLong());
+        v2 = round(v2, input.getLong());
+        v3 = round(v3, input.getLong());
+        v4 = round(v4, input.getLong());
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME_2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME_1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        accumulator ^= round(0, value);
+        return accumulator * PRIME_1 + PRIME_4;
+    }
+}
@@ -1,7 +1,12 @@
 import io.github.ilnurnasybullin.files.checksum.core.ChecksumAlgorithmProvider;
 import io.github.ilnurnasybullin.files.checksum.core.CoreChecksumAlgorithmProvider;
+import io.github.ilnurnasybullin.files.checksum.core.FastChecksumAlgorithmProvider;
 
 module io.github.ilnurnasybullin.files.checksum.core {
+    requires jdk.jfr;
+
     exports io.github.ilnurnasybullin.files.checksum.core;
-    provides ChecksumAlgorithmProvider with CoreChecksumAlgorithmProvider;
-}
\ No newline at end of file
+
+    uses ChecksumAlgorithmProvider;
+    provides ChecksumAlgorithmProvider with CoreChecksumAlgorithmProvider, FastChecksumAlgorithmProvider;
+}
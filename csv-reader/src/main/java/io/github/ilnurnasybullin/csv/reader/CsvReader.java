@@ -1,7 +1,12 @@
 package io.github.ilnurnasybullin.csv.reader;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.stream.Stream;
@@ -15,6 +20,18 @@ public interface CsvReader {
 
     Stream<Rows> readCsv(InputStream stream, Config config);
 
+    default Stream<Rows> readCsv(Path file, Config config) throws IOException {
+        InputStream stream = Files.newInputStream(file, StandardOpenOption.READ);
+        return readCsv(stream, config)
+                .onClose(() -> {
+                    try {
+                        stream.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
     interface Rows extends Iterable<String> {
         Optional<String> onColumn(String column);
         Optional<String> onIndex(int index);
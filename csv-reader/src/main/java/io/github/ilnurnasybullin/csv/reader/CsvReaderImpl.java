@@ -96,7 +96,9 @@ class CsvReaderImpl implements CsvReader {
             String[] values = line.split(delimiter);
             Map<String, String> headers = new HashMap<>();
             this.headers.forEach((index, header) -> {
-                headers.put(header, values[index]);
+                if (index < values.length) {
+                    headers.put(header, values[index]);
+                }
             });
 
             return new Rows(values, headers);
@@ -0,0 +1,284 @@
+package io.github.ilnurnasybullin.csv.reader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class FastCsvReader implements CsvReader {
+
+    private final static String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+    private final static Set<Charset> ASCII_COMPATIBLE_CHARSETS = Set.of(
+            StandardCharsets.UTF_8, StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1
+    );
+
+    private final static int READER_BUFFER_SIZE = 64 * 1024;
+    private final static int MIN_SPLIT_SIZE = 256 * 1024;
+
+    private final CsvReader fallback = new CsvReaderImpl();
+
+    @Override
+    public Stream<CsvReader.Rows> readCsv(InputStream stream, Config config) {
+        OptionalInt delimiter = literalDelimiter(config.regexSplitter());
+        if (delimiter.isEmpty()) {
+            return fallback.readCsv(stream, config);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, config.charset()), READER_BUFFER_SIZE);
+        Map<String, Integer> headers = Map.of();
+        try {
+            if (config.hasHeader()) {
+                String header = reader.readLine();
+                headers = header == null ? Map.of() : readHeaders(split(header, (char) delimiter.getAsInt()));
+            }
+        } catch (IOException e) {
+            close(reader);
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, Integer> columns = headers;
+        return reader.lines()
+                .onClose(() -> close(reader))
+                .map(line -> new Rows(split(line, (char) delimiter.getAsInt()), columns));
+    }
+
+    @Override
+    public Stream<CsvReader.Rows> readCsv(Path file, Config config) throws IOException {
+        OptionalInt delimiter = literalDelimiter(config.regexSplitter());
+        if (delimiter.isEmpty() || delimiter.getAsInt() > 0x7F || !ASCII_COMPATIBLE_CHARSETS.contains(config.charset())) {
+            return CsvReader.super.readCsv(file, config);
+        }
+
+        ByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > READER_BUFFER_SIZE) {
+                return CsvReader.super.readCsv(file, config);
+            }
+
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+
+        LineSpliterator lines = new LineSpliterator(buffer, 0, buffer.limit(), (byte) delimiter.getAsInt(),
+                config.charset(), Map.of());
+        if (config.hasHeader()) {
+            lines = lines.withHeader();
+        }
+
+        return StreamSupport.stream(lines, false);
+    }
+
+    static OptionalInt literalDelimiter(String regex) {
+        if (regex.length() == 1 && REGEX_METACHARACTERS.indexOf(regex.charAt(0)) == -1) {
+            return OptionalInt.of(regex.charAt(0));
+        }
+
+        if (regex.length() == 2 && regex.charAt(0) == '\\' && REGEX_METACHARACTERS.indexOf(regex.charAt(1)) != -1) {
+            return OptionalInt.of(regex.charAt(1));
+        }
+
+        return OptionalInt.empty();
+    }
+
+    private static String[] split(String line, char delimiter) {
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+
+        String[] values = new String[count];
+        int start = 0;
+        int index = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == delimiter) {
+                values[index++] = line.substring(start, i);
+                start = i + 1;
+            }
+        }
+        values[index] = line.substring(start);
+
+        return values;
+    }
+
+    private static Map<String, Integer> readHeaders(String[] headers) {
+        Map<String, Integer> headerIndexes = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            headerIndexes.putIfAbsent(headers[i], i);
+        }
+
+        return Map.copyOf(headerIndexes);
+    }
+
+    private static void close(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class Rows implements CsvReader.Rows {
+
+        private final String[] values;
+        private final Map<String, Integer> headers;
+
+        private Rows(String[] values, Map<String, Integer> headers) {
+            this.values = values;
+            this.headers = headers;
+        }
+
+        @Override
+        public Optional<String> onColumn(String column) {
+            Integer index = headers.get(column);
+            if (index == null) {
+                return Optional.empty();
+            }
+
+            return onIndex(index);
+        }
+
+        @Override
+        public Optional<String> onIndex(int index) {
+            if (index >= values.length) {
+                return Optional.empty();
+            }
+
+            return Optional.of(values[index]);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return Arrays.asList(values).iterator();
+        }
+    }
+
+    private static class LineSpliterator implements Spliterator<CsvReader.Rows> {
+
+        private final ByteBuffer buffer;
+        private final byte delimiter;
+        private final Charset charset;
+        private final Map<String, Integer> headers;
+
+        private int position;
+        private int end;
+
+        private LineSpliterator(ByteBuffer buffer, int position, int end, byte delimiter,
+                                Charset charset, Map<String, Integer> headers) {
+            this.buffer = buffer;
+            this.position = position;
+            this.end = end;
+            this.delimiter = delimiter;
+            this.charset = charset;
+            this.headers = headers;
+        }
+
+        LineSpliterator withHeader() {
+            if (position >= end) {
+                return this;
+            }
+
+            int lineEnd = lineEnd(position);
+            Map<String, Integer> headers = readHeaders(fields(position, lineEnd));
+            return new LineSpliterator(buffer, nextLine(lineEnd), end, delimiter, charset, headers);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CsvReader.Rows> action) {
+            if (position >= end) {
+                return false;
+            }
+
+            int lineEnd = lineEnd(position);
+            String[] values = fields(position, lineEnd);
+            position = nextLine(lineEnd);
+            action.accept(new Rows(values, headers));
+            return true;
+        }
+
+        @Override
+        public Spliterator<CsvReader.Rows> trySplit() {
+            if (end - position < MIN_SPLIT_SIZE) {
+                return null;
+            }
+
+            int middle = nextLine(lineEnd(position + (end - position) / 2));
+            if (middle >= end) {
+                return null;
+            }
+
+            LineSpliterator prefix = new LineSpliterator(buffer, position, middle, delimiter, charset, headers);
+            position = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private int lineEnd(int from) {
+            int index = from;
+            while (index < end && buffer.get(index) != '\n') {
+                index++;
+            }
+
+            return index;
+        }
+
+        private int nextLine(int lineEnd) {
+            return Math.min(lineEnd + 1, end);
+        }
+
+        private String[] fields(int from, int to) {
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+
+            byte[] line = new byte[to - from];
+            buffer.get(from, line);
+
+            int count = 1;
+            for (byte b: line) {
+                if (b == delimiter) {
+                    count++;
+                }
+            }
+
+            String[] values = new String[count];
+            int start = 0;
+            int index = 0;
+            for (int i = 0; i < line.length; i++) {
+                if (line[i] == delimiter) {
+                    values[index++] = new String(line, start, i - start, charset);
+                    start = i + 1;
+                }
+            }
+            values[index] = new String(line, start, line.length - start, charset);
+
+            return values;
+        }
+    }
+}
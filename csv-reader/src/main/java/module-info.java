@@ -1,7 +1,9 @@
 import io.github.ilnurnasybullin.csv.reader.CsvReader;
+import io.github.ilnurnasybullin.csv.reader.FastCsvReader;
 
 module io.github.ilnurnasybullin.csv.reader {
     exports io.github.ilnurnasybullin.csv.reader;
 
     uses CsvReader;
-}
\ No newline at end of file
+    provides CsvReader with FastCsvReader;
+}
@@ -3,7 +3,11 @@ package io.github.ilnurnasybullin.csv.writer;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
@@ -14,10 +18,26 @@ public interface CsvWriter {
         String splitter();
         List<String> headers();
         BiFunction<T, String, String> toFieldFunction();
+
+        default boolean hasHeader() {
+            return true;
+        }
+
+        default Optional<FieldEncoder<T>> fieldEncoder(String header) {
+            return Optional.empty();
+        }
+    }
+
+    interface FieldEncoder<T> {
+        void encode(T object, StringBuilder out);
     }
 
     <T> void writeToCsv(OutputStream stream, Stream<T> objects, Config<T> config) throws IOException;
 
+    default <T> void writeToCsv(Path file, Stream<T> objects, Config<T> config, OpenOption... options) throws IOException {
+        writeToCsv(Files.newOutputStream(file, options), objects, config);
+    }
+
     static CsvWriter getInstance() {
         return ServiceLoader.load(CsvWriter.class)
                 .findFirst()
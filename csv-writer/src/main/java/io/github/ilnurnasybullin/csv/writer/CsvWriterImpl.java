@@ -32,7 +32,7 @@ class CsvWriterImpl implements CsvWriter {
     }
 
     private <T> void writeHeaders(BufferedWriter writer, Config<T> config) throws IOException {
-        if (config.headers().isEmpty()) {
+        if (!config.hasHeader() || config.headers().isEmpty()) {
             return;
         }
 
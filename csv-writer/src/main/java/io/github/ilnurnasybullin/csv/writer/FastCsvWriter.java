@@ -0,0 +1,147 @@
+package io.github.ilnurnasybullin.csv.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+public class FastCsvWriter implements CsvWriter {
+
+    private final static int BATCH_SIZE = 1024 * 1024;
+    private final static int ROW_CAPACITY = 512;
+
+    @Override
+    public <T> void writeToCsv(OutputStream stream, Stream<T> objects, Config<T> config) throws IOException {
+        try(WritableByteChannel channel = Channels.newChannel(stream)) {
+            write(channel, objects, config);
+        }
+    }
+
+    @Override
+    public <T> void writeToCsv(Path file, Stream<T> objects, Config<T> config, OpenOption... options) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, options)) {
+            write(channel, objects, config);
+        }
+    }
+
+    private <T> void write(WritableByteChannel channel, Stream<T> objects, Config<T> config) throws IOException {
+        BatchWriter writer = new BatchWriter(channel, config);
+        List<CsvWriter.FieldEncoder<T>> encoders = encoders(config);
+
+        if (config.hasHeader() && !config.headers().isEmpty()) {
+            writer.writeRow(String.join(config.splitter(), config.headers()));
+        }
+
+        StringBuilder row = new StringBuilder(ROW_CAPACITY);
+        try {
+            objects.forEach(object -> {
+                row.setLength(0);
+                encodeRow(object, encoders, config.splitter(), row);
+                writer.writeRow(row);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private <T> void encodeRow(T object, List<CsvWriter.FieldEncoder<T>> encoders, String splitter, StringBuilder row) {
+        if (encoders.isEmpty()) {
+            row.append(object);
+            return;
+        }
+
+        for (int i = 0; i < encoders.size(); i++) {
+            if (i > 0) {
+                row.append(splitter);
+            }
+
+            encoders.get(i).encode(object, row);
+        }
+    }
+
+    private <T> List<CsvWriter.FieldEncoder<T>> encoders(Config<T> config) {
+        BiFunction<T, String, String> function = config.toFieldFunction();
+        return config.headers()
+                .stream()
+                .map(header -> config.fieldEncoder(header)
+                        .orElseGet(() -> (object, out) -> out.append(function.apply(object, header))))
+                .toList();
+    }
+
+    private static class BatchWriter {
+
+        private final static char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BATCH_SIZE);
+        private char[] chars = new char[ROW_CAPACITY];
+
+        private BatchWriter(WritableByteChannel channel, Config<?> config) {
+            this.channel = channel;
+            this.encoder = config.charset()
+                    .newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        void writeRow(CharSequence row) {
+            int length = row.length() + LINE_SEPARATOR.length;
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+
+            if (row instanceof StringBuilder builder) {
+                builder.getChars(0, row.length(), chars, 0);
+            } else {
+                row.toString().getChars(0, row.length(), chars, 0);
+            }
+            System.arraycopy(LINE_SEPARATOR, 0, chars, row.length(), LINE_SEPARATOR.length);
+
+            encode(CharBuffer.wrap(chars, 0, length));
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void encode(CharBuffer chars) {
+            try {
+                while (true) {
+                    CoderResult result = encoder.encode(chars, buffer, true);
+                    if (result.isOverflow()) {
+                        flush();
+                        continue;
+                    }
+
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+
+                    encoder.reset();
+                    return;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
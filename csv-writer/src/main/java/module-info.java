@@ -1,7 +1,9 @@
 import io.github.ilnurnasybullin.csv.writer.CsvWriter;
+import io.github.ilnurnasybullin.csv.writer.FastCsvWriter;
 
 module io.github.ilnurnasybullin.csv.writer {
     exports io.github.ilnurnasybullin.csv.writer;
 
     uses CsvWriter;
-}
\ No newline at end of file
+    provides CsvWriter with FastCsvWriter;
+}